@@ -1,6 +1,7 @@
 package com.eklypze.android.mastermdhd;
 
 import android.os.Bundle;
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.backends.android.AndroidApplication;
 import com.badlogic.gdx.backends.android.AndroidApplicationConfiguration;
 import com.eklypze.android.mastermdhd.core.MastermindHDGame;
@@ -21,5 +22,10 @@ public class AndroidLauncher extends AndroidApplication {
         config.useWakelock = true;
 
         initialize(new MastermindHDGame(), config);
+
+        // Debug builds log everything and enable the HUD and trace gestures
+        if (BuildConfig.DEBUG) {
+            setLogLevel(Application.LOG_DEBUG);
+        }
     }
 }
@@ -14,10 +14,7 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -25,7 +22,7 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 /**
  * About and credits screen
  */
-public class AboutScreen implements Screen {
+public class AboutScreen implements Screen, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
     private OrthographicCamera camera;
@@ -34,13 +31,11 @@ public class AboutScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
-    private BitmapFont titleFont;
-    private BitmapFont smallFont;
-    private ShapeRenderer shapeRenderer;
-    private GlyphLayout layout;
 
-    private Rectangle backButton;
+    // Static page: laid out once, then only queued
+    private final WidgetGroup ui = new WidgetGroup();
     private float scrollY = 0;
 
     public AboutScreen(MastermindHDGame game) {
@@ -51,161 +46,108 @@ public class AboutScreen implements Screen {
         camera.position.set(MastermindHDGame.GAME_WIDTH / 2f, MastermindHDGame.GAME_HEIGHT / 2f, 0);
         touchPoint = new Vector3();
 
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.8f);
+        font = fonts.newFont(Color.WHITE);
 
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.GOLD);
-        titleFont.getData().setScale(3.5f);
-
-        smallFont = new BitmapFont();
-        smallFont.setColor(Color.LIGHT_GRAY);
-        smallFont.getData().setScale(1.3f);
-
-        shapeRenderer = new ShapeRenderer();
-        layout = new GlyphLayout();
-
-        backButton = new Rectangle(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
-    }
-
-    @Override
-    public void show() {}
-
-    @Override
-    public void render(float delta) {
-        Gdx.gl.glClearColor(0.2f, 0.15f, 0.1f, 1);
-        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-
-        camera.update();
-        game.batch.setProjectionMatrix(camera.combined);
-
-        handleInput();
-
-        // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
-
-        // Draw back button
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(backButton.x, backButton.y, backButton.width, backButton.height);
-        shapeRenderer.end();
-
-        // Draw text
-        game.batch.begin();
-
-        // Back button text
-        font.getData().setScale(1.5f);
-        layout.setText(font, "BACK");
-        font.draw(game.batch, "BACK",
-                backButton.x + (backButton.width - layout.width) / 2,
-                backButton.y + (backButton.height + layout.height) / 2);
+        // Back button
+        ui.add(new ButtonWidget(font, 1.5f, Color.WHITE)).setText("BACK").setColor(0.7f, 0.2f, 0.2f, 1f)
+                .onClick(() -> {
+                    SoundManager.getInstance().playButton();
+                    game.screens.showSettings();
+                })
+                .setBounds(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
 
         // Title
-        titleFont.getData().setScale(3.0f);
-        layout.setText(titleFont, "ABOUT");
-        titleFont.draw(game.batch, "ABOUT",
-                (MastermindHDGame.GAME_WIDTH - layout.width) / 2,
-                MastermindHDGame.GAME_HEIGHT - 30);
+        addLine("ABOUT", 3.0f, Color.GOLD, MastermindHDGame.GAME_HEIGHT - 30);
 
         // Content
         float y = 650;
-        float centerX = MastermindHDGame.GAME_WIDTH / 2f;
 
         // Game name and version
-        font.getData().setScale(2.2f);
-        font.setColor(Color.GOLD);
-        drawCentered("MASTERMIND HD", centerX, y);
+        addLine("MASTERMIND HD", 2.2f, Color.GOLD, y);
         y -= 40;
-
-        smallFont.getData().setScale(1.5f);
-        smallFont.setColor(Color.YELLOW);
-        drawCentered("Version 2.0 Beta", centerX, y);
+        addLine("Version 2.0 Beta", 1.5f, Color.YELLOW, y);
         y -= 60;
 
         // Description
-        font.getData().setScale(1.5f);
-        font.setColor(Color.WHITE);
-        drawCentered("A complete puzzle game with", centerX, y);
+        addLine("A complete puzzle game with", 1.5f, Color.WHITE, y);
         y -= 30;
-        drawCentered("100 challenging levels", centerX, y);
+        addLine("100 challenging levels", 1.5f, Color.WHITE, y);
         y -= 50;
 
         // Credits
-        smallFont.getData().setScale(1.8f);
-        smallFont.setColor(Color.GOLD);
-        drawCentered("CREATED BY", centerX, y);
+        addLine("CREATED BY", 1.8f, Color.GOLD, y);
         y -= 35;
-
-        font.getData().setScale(2.0f);
-        font.setColor(Color.WHITE);
-        drawCentered("Dara Ouk", centerX, y);
+        addLine("Dara Ouk", 2.0f, Color.WHITE, y);
         y -= 50;
 
         // Tech
-        smallFont.getData().setScale(1.3f);
-        smallFont.setColor(Color.LIGHT_GRAY);
-        drawCentered("Built with libGDX", centerX, y);
+        addLine("Built with libGDX", 1.3f, Color.LIGHT_GRAY, y);
         y -= 25;
-        drawCentered("Java + OpenGL ES", centerX, y);
+        addLine("Java + OpenGL ES", 1.3f, Color.LIGHT_GRAY, y);
         y -= 50;
 
         // Stats
-        font.getData().setScale(1.4f);
-        font.setColor(Color.CYAN);
-        drawCentered("100 Unique Levels", centerX, y);
+        addLine("100 Unique Levels", 1.4f, Color.CYAN, y);
         y -= 28;
-        drawCentered("6 Difficulty Tiers", centerX, y);
+        addLine("6 Difficulty Tiers", 1.4f, Color.CYAN, y);
         y -= 28;
-        drawCentered("300 Stars to Collect", centerX, y);
+        addLine("300 Stars to Collect", 1.4f, Color.CYAN, y);
         y -= 28;
-        drawCentered("2,840 Lines of Code", centerX, y);
+        addLine("2,840 Lines of Code", 1.4f, Color.CYAN, y);
         y -= 50;
 
         // Beta notice
-        smallFont.getData().setScale(1.5f);
-        smallFont.setColor(Color.ORANGE);
-        drawCentered("BETA VERSION", centerX, y);
+        addLine("BETA VERSION", 1.5f, Color.ORANGE, y);
         y -= 28;
-        smallFont.getData().setScale(1.2f);
-        smallFont.setColor(Color.LIGHT_GRAY);
-        drawCentered("Thank you for testing!", centerX, y);
+        addLine("Thank you for testing!", 1.2f, Color.LIGHT_GRAY, y);
         y -= 40;
 
         // Copyright
-        smallFont.getData().setScale(1.0f);
-        smallFont.setColor(Color.DARK_GRAY);
-        drawCentered("© 2025 Dara Ouk", centerX, y);
+        addLine("© 2025 Dara Ouk", 1.0f, Color.DARK_GRAY, y);
         y -= 20;
-        drawCentered("Educational/Personal Project", centerX, y);
+        addLine("Educational/Personal Project", 1.0f, Color.DARK_GRAY, y);
+    }
 
-        game.batch.end();
+    private void addLine(String text, float scale, Color color, float y) {
+        ui.add(new LabelWidget(font, scale, color)).setText(text)
+                .setLine(0, y, MastermindHDGame.GAME_WIDTH);
     }
 
-    private void drawCentered(String text, float centerX, float y) {
-        layout.setText(font, text);
-        float x = centerX - layout.width / 2;
-        font.draw(game.batch, text, x, y);
+    @Override
+    public void show() {}
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0.2f, 0.15f, 0.1f, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        camera.update();
+        game.batch.setProjectionMatrix(camera.combined);
+
+        handleInput();
+
+        // Draw background
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
+
+        ui.draw(game.renderQueue);
+
+        game.renderQueue.flush(game.batch);
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (backButton.contains(touchPoint.x, touchPoint.y)) {
-                SoundManager.getInstance().playButton();
-                game.setScreen(new SettingsScreen(game));
-            }
-        }
+        game.input.process(this);
+    }
+
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        ui.touch(touchPoint.x, touchPoint.y);
     }
 
     @Override
@@ -224,11 +166,5 @@ public class AboutScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (smallFont != null) smallFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
@@ -8,7 +8,14 @@
 package com.eklypze.android.mastermdhd.core;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,11 +24,26 @@ import java.util.Map;
  */
 public class AssetCache {
     private static AssetCache instance;
+    private static final int SPAN_LOAD = TraceRecorder.name("AssetCache.loadTexture");
+    private static final int SPAN_LOAD_FONT = TraceRecorder.name("AssetCache.loadFont");
+
+    // Generated effects texture: a soft particle circle and a solid white block
+    private static final int PARTICLE_SIZE = 32;
+    private static final int WHITE_BLOCK = 4;
+
     private final Map<String, Texture> textureCache;
+    // Kept apart from textureCache: quality filter changes must not reach font pages
+    private final Map<String, BitmapFont> fontCache;
     private boolean initialized = false;
 
+    private Pixmap effectsPixmap;
+    private Texture effectsTexture;
+    private TextureRegion particleRegion;
+    private TextureRegion whitePixel;
+
     private AssetCache() {
         textureCache = new HashMap<>();
+        fontCache = new HashMap<>();
     }
 
     public static AssetCache getInstance() {
@@ -80,13 +102,17 @@ public class AssetCache {
      */
     private void loadTexture(String path) {
         if (!textureCache.containsKey(path)) {
+            long start = TimeUtils.nanoTime();
             try {
                 Texture texture = new Texture(Gdx.files.internal(path));
-                texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+                Texture.TextureFilter filter = QualityController.getInstance().getTextureFilter();
+                texture.setFilter(filter, filter);
                 textureCache.put(path, texture);
             } catch (Exception e) {
                 Gdx.app.error("AssetCache", "Failed to load texture: " + path, e);
             }
+            MetricsRegistry.getInstance().histogram("load." + path).recordSince(start);
+            TraceRecorder.getInstance().end(SPAN_LOAD, start);
         }
     }
 
@@ -100,6 +126,95 @@ public class AssetCache {
         return textureCache.get(path);
     }
 
+    /**
+     * Get a cached BMFont (.fnt plus its pages), or null if it cannot be loaded.
+     * Pages are always linearly filtered, as distance-field text needs.
+     */
+    public BitmapFont getFont(String path) {
+        if (!fontCache.containsKey(path)) {
+            loadFont(path);
+        }
+        return fontCache.get(path);
+    }
+
+    private void loadFont(String path) {
+        long start = TimeUtils.nanoTime();
+        BitmapFont font = null;
+        try {
+            font = new BitmapFont(Gdx.files.internal(path));
+            for (TextureRegion page : font.getRegions()) {
+                page.getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            }
+        } catch (Exception e) {
+            Gdx.app.error("AssetCache", "Failed to load font: " + path, e);
+        }
+        fontCache.put(path, font);
+        MetricsRegistry.getInstance().histogram("load." + path).recordSince(start);
+        TraceRecorder.getInstance().end(SPAN_LOAD_FONT, start);
+    }
+
+    /**
+     * Soft white circle for particles (shares a texture with the white pixel)
+     */
+    public TextureRegion getParticleRegion() {
+        if (effectsTexture == null) {
+            createEffectsTexture();
+        }
+        return particleRegion;
+    }
+
+    /**
+     * Solid white texel for tinted shapes (shares a texture with the particles)
+     */
+    public TextureRegion getWhitePixel() {
+        if (effectsTexture == null) {
+            createEffectsTexture();
+        }
+        return whitePixel;
+    }
+
+    /**
+     * Draw the effects texture. It is managed: the pixmap is kept so
+     * libGDX can upload it again after the GL context is lost.
+     */
+    private void createEffectsTexture() {
+        effectsPixmap = new Pixmap(PARTICLE_SIZE + WHITE_BLOCK, PARTICLE_SIZE, Pixmap.Format.RGBA8888);
+        effectsPixmap.setBlending(Pixmap.Blending.None);
+
+        float center = (PARTICLE_SIZE - 1) / 2f;
+        float radius = PARTICLE_SIZE / 2f;
+        for (int py = 0; py < PARTICLE_SIZE; py++) {
+            for (int px = 0; px < PARTICLE_SIZE; px++) {
+                float dx = px - center;
+                float dy = py - center;
+                float dist = (float) Math.sqrt(dx * dx + dy * dy) / radius;
+
+                // Solid core with a short feathered edge
+                float alpha = MathUtils.clamp((1f - dist) * 4f, 0f, 1f);
+                effectsPixmap.drawPixel(px, py, Color.rgba8888(1f, 1f, 1f, alpha));
+            }
+        }
+        effectsPixmap.setColor(Color.WHITE);
+        effectsPixmap.fillRectangle(PARTICLE_SIZE, 0, WHITE_BLOCK, WHITE_BLOCK);
+
+        effectsTexture = new Texture(new PixmapTextureData(effectsPixmap, null, false, false, true));
+        effectsTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        particleRegion = new TextureRegion(effectsTexture, 0, 0, PARTICLE_SIZE, PARTICLE_SIZE);
+        // An inner texel, so linear filtering only ever blends white with white
+        whitePixel = new TextureRegion(effectsTexture, PARTICLE_SIZE + WHITE_BLOCK / 2, WHITE_BLOCK / 2, 1, 1);
+    }
+
+    /**
+     * Apply a texture filter to every cached texture
+     */
+    public void applyTextureFilter(Texture.TextureFilter filter) {
+        for (Texture texture : textureCache.values()) {
+            if (texture != null) {
+                texture.setFilter(filter, filter);
+            }
+        }
+    }
+
     /**
      * Check if a texture exists in cache
      */
@@ -107,6 +222,13 @@ public class AssetCache {
         return textureCache.containsKey(path);
     }
 
+    /**
+     * Number of textures currently held
+     */
+    public int getTextureCount() {
+        return textureCache.size();
+    }
+
     /**
      * Get loading progress (0.0 to 1.0)
      */
@@ -125,6 +247,20 @@ public class AssetCache {
             }
         }
         textureCache.clear();
+        for (BitmapFont font : fontCache.values()) {
+            if (font != null) {
+                font.dispose();
+            }
+        }
+        fontCache.clear();
+        if (effectsTexture != null) {
+            effectsTexture.dispose();
+            effectsPixmap.dispose();
+            effectsTexture = null;
+            effectsPixmap = null;
+            particleRegion = null;
+            whitePixel = null;
+        }
         initialized = false;
         Gdx.app.log("AssetCache", "Disposed");
     }
@@ -133,7 +269,7 @@ public class AssetCache {
      * Get cache statistics
      */
     public String getStats() {
-        return String.format("Cached textures: %d | Initialized: %b",
-                           textureCache.size(), initialized);
+        return String.format("Cached textures: %d | Fonts: %d | Initialized: %b",
+                           textureCache.size(), fontCache.size(), initialized);
     }
 }
@@ -0,0 +1,176 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Audio Scheduler
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Sound cues at exact game-clock times
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Plays sounds at fixed times on a game clock (e.g. countdown ticks in
+ * the last seconds of a timed level). The current screen binds itself
+ * as the clock; the game updates the scheduler once per frame, so
+ * screens never poll for cues themselves.
+ *
+ * Cues are keyed to clock time, not wall time, so pausing the game
+ * (the clock stops) delays them correctly. Each cue fires on the frame
+ * closest to its time: a cue due less than half a frame ahead plays
+ * now rather than a frame late. Cues far behind the clock (after a
+ * long stall) are skipped instead of firing in a burst.
+ */
+public class AudioScheduler {
+
+    /**
+     * A game clock, usually the current game screen
+     */
+    public interface Clock {
+        /**
+         * Clock time in seconds
+         */
+        float getClockTime();
+
+        /**
+         * False while paused or finished
+         */
+        boolean isClockRunning();
+    }
+
+    private static AudioScheduler instance;
+
+    private static final int MAX_CUES = 32;
+    private static final float MAX_LATE_SECONDS = 0.3f;
+    private static final float DELTA_SMOOTHING = 0.1f;
+    // Idle frames can be far apart; never fire more than this early
+    private static final float MAX_LEAD_SECONDS = 1 / 60f;
+
+    // Cues sorted by time; next is the first one not yet played
+    private final float[] cueTimes = new float[MAX_CUES];
+    private final String[] cueSounds = new String[MAX_CUES];
+    private final float[] cueVolumes = new float[MAX_CUES];
+    private int cueCount = 0;
+    private int next = 0;
+
+    private Clock clock;
+    private float lastClockTime = -1;
+    private float frameDelta = 1 / 60f;
+
+    // Statistics
+    private long played = 0;
+    private long skipped = 0;
+    private float maxErrorMs = 0;
+
+    private AudioScheduler() {
+    }
+
+    public static AudioScheduler getInstance() {
+        if (instance == null) {
+            instance = new AudioScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Use a new clock and drop every cue of the previous one
+     */
+    public void bind(Clock clock) {
+        this.clock = clock;
+        clear();
+        lastClockTime = clock.getClockTime();
+    }
+
+    /**
+     * Stop using a clock (ignored if another clock was bound since)
+     */
+    public void unbind(Clock clock) {
+        if (this.clock == clock) {
+            this.clock = null;
+            clear();
+        }
+    }
+
+    /**
+     * Play a sound when the clock reaches a time (seconds)
+     */
+    public void schedule(String sound, float clockTime, float volume) {
+        if (cueCount >= MAX_CUES) {
+            Gdx.app.error("AudioScheduler", "Too many cues, dropping " + sound + " at " + clockTime);
+            return;
+        }
+
+        // Insertion sort; schedules are short and built once
+        int i = cueCount++;
+        while (i > next && cueTimes[i - 1] > clockTime) {
+            cueTimes[i] = cueTimes[i - 1];
+            cueSounds[i] = cueSounds[i - 1];
+            cueVolumes[i] = cueVolumes[i - 1];
+            i--;
+        }
+        cueTimes[i] = clockTime;
+        cueSounds[i] = sound;
+        cueVolumes[i] = volume;
+    }
+
+    /**
+     * Fire due cues. Called once per frame after the screen has rendered.
+     */
+    public void update() {
+        if (clock == null || next >= cueCount) return;
+
+        float now = clock.getClockTime();
+        if (now > lastClockTime && lastClockTime >= 0) {
+            frameDelta += (now - lastClockTime - frameDelta) * DELTA_SMOOTHING;
+        }
+        lastClockTime = now;
+
+        if (!clock.isClockRunning()) return;
+
+        // Anything due before the middle of the next frame plays on this one
+        float lead = Math.min(frameDelta / 2, MAX_LEAD_SECONDS);
+        float horizon = now + lead;
+        SoundManager sounds = SoundManager.getInstance();
+        while (next < cueCount && cueTimes[next] <= horizon) {
+            float error = now - cueTimes[next];
+            if (error > MAX_LATE_SECONDS) {
+                skipped++;
+            } else {
+                sounds.playSound(cueSounds[next], cueVolumes[next]);
+                maxErrorMs = Math.max(maxErrorMs, Math.abs(error) * 1000f);
+                played++;
+            }
+            cueSounds[next] = null;
+            next++;
+        }
+
+        // Make sure a frame is drawn for the next cue even when idle
+        if (next < cueCount) {
+            RenderScheduler.getInstance().requestRenderAfter(Math.max(0, cueTimes[next] - now - lead));
+        }
+    }
+
+    /**
+     * Drop all pending cues
+     */
+    public void clear() {
+        for (int i = 0; i < cueCount; i++) {
+            cueSounds[i] = null;
+        }
+        cueCount = 0;
+        next = 0;
+        lastClockTime = -1;
+    }
+
+    public int getPendingCues() {
+        return cueCount - next;
+    }
+
+    /**
+     * Get scheduling statistics
+     */
+    public String getStats() {
+        return String.format("Audio cues: %d pending | %d played | %d skipped | max error %.1fms",
+                getPendingCues(), played, skipped, maxErrorMs);
+    }
+}
@@ -0,0 +1,143 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Board Cache
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Static game board composited into a framebuffer
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Caches the parts of the board that only change when a piece is placed
+ * or a row is scored. New pieces are painted into the framebuffer once;
+ * each frame then costs a single opaque full-screen quad.
+ */
+public class BoardCache implements Disposable, RenderQueue.Drawable {
+
+    /**
+     * Draws the static layer, either completely or just what changed
+     */
+    public interface Painter {
+        void paintStatic(SpriteBatch batch);
+
+        boolean hasStaticChanges();
+
+        void paintStaticChanges(SpriteBatch batch);
+    }
+
+    private final Painter painter;
+    private final Viewport viewport;
+
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private boolean fullRedraw = true;
+
+    private int fullRedraws = 0;
+    private int incrementalDraws = 0;
+
+    public BoardCache(Painter painter, Viewport viewport) {
+        this.painter = painter;
+        this.viewport = viewport;
+    }
+
+    /**
+     * Throw away the cached image (resize, context loss, board reset)
+     */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    /**
+     * Bring the framebuffer up to date. Must be called outside batch.begin/end.
+     */
+    public void update(SpriteBatch batch) {
+        ensureFrameBuffer();
+
+        if (!fullRedraw && !painter.hasStaticChanges()) return;
+
+        Camera camera = viewport.getCamera();
+        frameBuffer.begin();
+        batch.setProjectionMatrix(camera.combined);
+        batch.begin();
+
+        if (fullRedraw) {
+            Gdx.gl.glClearColor(0, 0, 0, 1);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            painter.paintStatic(batch);
+            fullRedraws++;
+        } else {
+            painter.paintStaticChanges(batch);
+            incrementalDraws++;
+        }
+
+        batch.end();
+        frameBuffer.end();
+
+        // FrameBuffer.end() resets the GL viewport to the whole back buffer
+        viewport.apply();
+
+        fullRedraw = false;
+    }
+
+    /**
+     * Draw the cached layer. The board is opaque, so blending is skipped.
+     */
+    @Override
+    public void draw(SpriteBatch batch) {
+        if (region == null) return;
+
+        batch.disableBlending();
+        batch.draw(region, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+        batch.enableBlending();
+    }
+
+    /**
+     * (Re)create the framebuffer at the on-screen size of the viewport
+     */
+    private void ensureFrameBuffer() {
+        int width = Math.max(1, viewport.getScreenWidth());
+        int height = Math.max(1, viewport.getScreenHeight());
+
+        if (frameBuffer != null && frameBuffer.getWidth() == width && frameBuffer.getHeight() == height) {
+            return;
+        }
+
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+        }
+
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        region = new TextureRegion(frameBuffer.getColorBufferTexture());
+        region.flip(false, true);
+        invalidate();
+    }
+
+    /**
+     * Get cache statistics
+     */
+    public String getStats() {
+        return String.format("Board cache: %d full redraws | %d incremental updates",
+                fullRedraws, incrementalDraws);
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+            region = null;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Board Renderer
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Draws placed balls and pegs from game state
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws the board straight from MastermindGame's guess and feedback
+ * history. Cell positions are computed once per level and all cells
+ * share one region per colour, so placing a ball allocates nothing.
+ * Moves only ever append, so the renderer remembers how much it has
+ * painted and can draw just the new cells into the board cache.
+ */
+public class BoardRenderer {
+
+    public static final float BALL_SIZE = 64f;
+    public static final float BALL_SCALE = 0.75f;
+    public static final float PEG_SIZE = BALL_SIZE * 0.8f;
+
+    // Grid column of the colour selection panel; the board stays left of it
+    public static final int PANEL_COLUMN = 7;
+    // Space between the last ball of a row and its feedback glyph, and before the panel
+    private static final float PEG_GAP = 14f;
+    private static final float PANEL_MARGIN = 4f;
+
+    private final MastermindGame game;
+    private final int codeLength;
+    private final int maxTurns;
+
+    // Precomputed geometry
+    private final float[] cellX;
+    private final float[] rowY;
+    private final float pegX;
+
+    private final TextureRegion[] ballRegions;
+    private final PegGlyphCache pegGlyphs = PegGlyphCache.getInstance();
+
+    // How much of the history is already in the cache
+    private int paintedCells = 0;
+    private int paintedRows = 0;
+
+    public BoardRenderer(MastermindGame game, TextureRegion[] ballRegions) {
+        this.game = game;
+        this.codeLength = game.getCodeLength();
+        this.maxTurns = game.getMaxTurns();
+        this.ballRegions = ballRegions;
+
+        // Glyph right after the row, but never over the panel; long codes
+        // (6 pegs) squeeze the ball spacing so the row still fits before it
+        float ballSize = BALL_SIZE * BALL_SCALE;
+        float left = columnX(1);
+        pegX = Math.min(columnX(codeLength + 1), columnX(PANEL_COLUMN) - PANEL_MARGIN - PEG_SIZE);
+        float spacing = columnX(2) - columnX(1);
+        if (codeLength > 1) {
+            spacing = Math.min(spacing, (pegX - PEG_GAP - ballSize - left) / (codeLength - 1));
+        }
+
+        cellX = new float[codeLength];
+        for (int col = 0; col < codeLength; col++) {
+            cellX[col] = left + col * spacing;
+        }
+
+        rowY = new float[maxTurns];
+        for (int row = 0; row < maxTurns; row++) {
+            rowY[row] = boardRowY(13 - row);
+        }
+    }
+
+    /**
+     * Draw every placed ball and scored row
+     */
+    public void paintAll(SpriteBatch batch) {
+        paintedCells = 0;
+        paintedRows = 0;
+        paintChanges(batch);
+    }
+
+    /**
+     * Draw only what changed since the last paint
+     */
+    public void paintChanges(SpriteBatch batch) {
+        int placed = game.getPlacedCount();
+        float size = BALL_SIZE * BALL_SCALE;
+
+        for (int cell = paintedCells; cell < placed; cell++) {
+            int row = cell / codeLength;
+            int col = cell % codeLength;
+            int color = game.getGuessColor(row, col);
+            if (color >= 0) {
+                batch.draw(ballRegions[color], cellX[col], rowY[row], size, size);
+            }
+        }
+        paintedCells = placed;
+
+        int scored = Math.min(game.getCurrentTurn(), maxTurns);
+        for (int row = paintedRows; row < scored; row++) {
+            TextureRegion glyph = pegGlyphs.get(game.getBlackPegs(row), game.getWhitePegs(row), codeLength);
+            if (glyph != null) {
+                batch.draw(glyph, pegX, rowY[row], PEG_SIZE, PEG_SIZE);
+            }
+        }
+        paintedRows = scored;
+    }
+
+    /**
+     * True if moves were made since the last paint
+     */
+    public boolean hasChanges() {
+        return game.getPlacedCount() != paintedCells
+                || Math.min(game.getCurrentTurn(), maxTurns) != paintedRows;
+    }
+
+    public float getCellX(int col) {
+        return cellX[col];
+    }
+
+    public float getRowY(int row) {
+        return rowY[row];
+    }
+
+    /**
+     * X of a board/panel grid column
+     */
+    public static float columnX(int gridX) {
+        return gridX * (MastermindHDGame.GAME_WIDTH / 8f + 2) - 32;
+    }
+
+    /**
+     * Y of a board grid row (15 rows over the screen height)
+     */
+    public static float boardRowY(int gridY) {
+        return gridY * (MastermindHDGame.GAME_HEIGHT / 15f) - 32;
+    }
+}
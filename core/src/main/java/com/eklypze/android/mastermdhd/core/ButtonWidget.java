@@ -0,0 +1,72 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Button Widget
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Filled button with a centred cached label
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * A coloured rectangle with a centred label. Clicks are dispatched by
+ * the owning WidgetGroup to the action given in onClick().
+ */
+public class ButtonWidget extends Widget {
+
+    private final HudText label;
+    private final Color color = new Color();
+    private Runnable action;
+
+    public ButtonWidget(BitmapFont font, float textScale, Color textColor) {
+        this.label = new HudText(font, textScale, textColor);
+    }
+
+    public ButtonWidget setText(CharSequence text) {
+        label.setText(text);
+        return this;
+    }
+
+    /**
+     * Edit the label in place (see HudText.begin())
+     */
+    public HudText getLabel() {
+        return label;
+    }
+
+    public ButtonWidget setColor(float r, float g, float b, float a) {
+        color.set(r, g, b, a);
+        return this;
+    }
+
+    public ButtonWidget setColor(Color value) {
+        color.set(value);
+        return this;
+    }
+
+    public ButtonWidget onClick(Runnable action) {
+        this.action = action;
+        return this;
+    }
+
+    public boolean isClickable() {
+        return action != null;
+    }
+
+    void click() {
+        if (action != null) action.run();
+    }
+
+    @Override
+    protected void layout() {
+        label.centerIn(bounds);
+    }
+
+    @Override
+    protected void render(RenderQueue queue) {
+        queue.rect(RenderQueue.LAYER_UI, bounds, color.r, color.g, color.b, color.a);
+        queue.text(RenderQueue.LAYER_TEXT, label);
+    }
+}
@@ -0,0 +1,47 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Easing
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Lookup-table easing curves for tweens
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Easing curves sampled once into a table. Evaluating a curve is then
+ * an index and a lerp, instead of pow/sin calls every frame.
+ */
+public enum Easing {
+    LINEAR(Interpolation.linear),
+    SINE_IN_OUT(Interpolation.sine),
+    QUAD_OUT(Interpolation.pow2Out),
+    QUAD_IN_OUT(Interpolation.pow2),
+    BACK_OUT(Interpolation.swingOut),
+    ELASTIC_OUT(Interpolation.elasticOut),
+    BOUNCE_OUT(Interpolation.bounceOut);
+
+    private static final int SAMPLES = 256;
+
+    private final float[] table = new float[SAMPLES + 1];
+
+    Easing(Interpolation curve) {
+        for (int i = 0; i <= SAMPLES; i++) {
+            table[i] = curve.apply(i / (float) SAMPLES);
+        }
+    }
+
+    /**
+     * Eased progress for t in [0, 1]
+     */
+    public float apply(float t) {
+        if (t <= 0) return table[0];
+        if (t >= 1) return table[SAMPLES];
+
+        float position = t * SAMPLES;
+        int index = (int) position;
+        float fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+}
@@ -0,0 +1,425 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Endless Mode
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Procedural levels past the end of the level pack
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Endless stages after the last level of the pack. Each stage is a
+ * generated Level, graded on a worker thread by simulated play
+ * (SolverSimulator): the code configuration is the one whose simulated
+ * guess count is closest to a target that rises smoothly with the
+ * stage, and the turn budget and star thresholds come from the simulated
+ * guess distribution.
+ *
+ * Stage 1 continues from the last pack level: the target starts at that
+ * level's configuration, and no stage is easier than it in difficulty
+ * rating, turn budget or hints.
+ *
+ * The worker keeps a few stages ready ahead of the player. If the player
+ * gets there first, next() builds the level at once from earlier
+ * simulations instead of waiting, so starting a stage never blocks.
+ * The worker keeps one simulator per configuration (a few MB for the
+ * largest code spaces) so each is only enumerated once.
+ *
+ * Endless levels are numbered after the pack (pack size + stage). The
+ * pack is read once, when the instance is created on the render thread
+ * after the level table has loaded; the worker never touches LevelManager.
+ */
+public class EndlessMode {
+
+    private static EndlessMode instance;
+    private static final int SPAN_GRADE = TraceRecorder.name("EndlessMode.grade");
+
+    private static final int READY_TARGET = 3;
+    private static final int SAMPLES = 40;
+    private static final int MAX_TURNS = 20;
+
+    // People need about half again as many guesses as the simulated player
+    private static final float HUMAN_FACTOR = 1.5f;
+
+    // Code configurations to choose from: colors, code length, duplicates
+    private static final int[] CONFIG_COLORS = { 5, 6, 5, 6, 7, 7, 8, 8, 7, 8, 8, 7, 8 };
+    private static final int[] CONFIG_LENGTHS = { 4, 4, 4, 4, 4, 5, 4, 5, 5, 6, 5, 6, 6 };
+    private static final boolean[] CONFIG_DUPLICATES = {
+            false, false, true, true, true, false, true, false, true, false, true, true, true
+    };
+
+    private final AsyncExecutor worker = new AsyncExecutor(1, "EndlessMode");
+
+    // Shared with the worker (guarded by lock)
+    private final Object lock = new Object();
+    private final Array<Level> ready = new Array<>();
+    private int generateStage = 1;
+    private boolean started = false;
+    private volatile boolean disposed = false;
+
+    // The level pack, read once: stage 1 continues from its last level
+    private final int packSize;
+    private final Level lastPackLevel;
+    private final int anchorConfig;
+
+    // Worker thread only
+    private final SolverSimulator[] simulators = new SolverSimulator[CONFIG_COLORS.length];
+
+    // Mean simulated guesses and the latest sorted sample per configuration (guarded by lock)
+    private final float[] configMeans = new float[CONFIG_COLORS.length];
+    private final int[][] configSamples = new int[CONFIG_COLORS.length][];
+
+    // Statistics
+    private int generated = 0;
+    private int fallbacks = 0;
+    private int discarded = 0;
+    private float lastGradeMillis = 0;
+
+    private EndlessMode() {
+        LevelManager levels = LevelManager.getInstance();
+        packSize = levels.getTotalLevels();
+        if (packSize < 1) {
+            throw new IllegalStateException("Endless mode needs a level pack to continue from");
+        }
+        lastPackLevel = levels.getLevel(packSize);
+        anchorConfig = configFor(lastPackLevel);
+    }
+
+    public static EndlessMode getInstance() {
+        if (instance == null) {
+            instance = new EndlessMode();
+        }
+        return instance;
+    }
+
+    /**
+     * Endless mode opens once the last level of the pack is completed
+     */
+    public boolean isUnlocked() {
+        return GameProgress.getInstance().isLevelCompleted(packSize);
+    }
+
+    public boolean isEndless(Level level) {
+        return level.getLevelNumber() > packSize;
+    }
+
+    /**
+     * Start generating stages ahead of the player (once)
+     */
+    public void start() {
+        synchronized (lock) {
+            if (started || disposed) return;
+            started = true;
+            generateStage = GameProgress.getInstance().getEndlessStage();
+        }
+        worker.submit(() -> {
+            generateLoop();
+            return null;
+        });
+        Gdx.app.log("EndlessMode", "Generating from stage " + generateStage);
+    }
+
+    /**
+     * The level for the player's current stage; never waits for the worker
+     */
+    public Level next() {
+        start();
+        int stage = GameProgress.getInstance().getEndlessStage();
+
+        synchronized (lock) {
+            dropBefore(stage);
+            if (ready.size > 0 && stageOf(ready.first()) == stage) {
+                Level level = ready.removeIndex(0);
+                lock.notifyAll();
+                return level;
+            }
+
+            // The worker is behind (or was working on other stages): build it now
+            discarded += ready.size;
+            ready.clear();
+            generateStage = stage + 1;
+            fallbacks++;
+            lock.notifyAll();
+            return buildLevel(stage, closestConfig(targetGuesses(stage)), null);
+        }
+    }
+
+    /**
+     * The level after the given one if it is already graded, else null.
+     * next() returns the same instance, so it can be prefetched.
+     */
+    public Level peekAfter(Level level) {
+        start();
+        int stage = isEndless(level) ? stageOf(level) + 1 : GameProgress.getInstance().getEndlessStage();
+
+        synchronized (lock) {
+            dropBefore(stage);
+            if (ready.size > 0 && stageOf(ready.first()) == stage) {
+                return ready.first();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Record a won endless stage
+     */
+    public void complete(Level level) {
+        GameProgress progress = GameProgress.getInstance();
+        int stage = stageOf(level);
+        if (stage >= progress.getEndlessStage()) {
+            progress.setEndlessStage(stage + 1);
+        }
+    }
+
+    private int stageOf(Level level) {
+        return level.getLevelNumber() - packSize;
+    }
+
+    private void dropBefore(int stage) {
+        while (ready.size > 0 && stageOf(ready.first()) < stage) {
+            ready.removeIndex(0);
+            discarded++;
+        }
+    }
+
+    // Worker thread
+
+    private void generateLoop() {
+        Random random = new Random();
+        while (true) {
+            int stage;
+            synchronized (lock) {
+                while (!disposed && ready.size >= READY_TARGET) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (disposed) return;
+                stage = generateStage;
+            }
+
+            long start = System.nanoTime();
+            long span = TraceRecorder.getInstance().begin();
+            Level level = grade(stage, random);
+            TraceRecorder.getInstance().end(SPAN_GRADE, span);
+            if (level == null) return;
+
+            synchronized (lock) {
+                lastGradeMillis = (System.nanoTime() - start) / 1000000f;
+                if (stage == generateStage) {
+                    ready.add(level);
+                    generateStage++;
+                    generated++;
+                } else {
+                    // next() moved on without this stage
+                    discarded++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Choose and simulate a configuration for a stage; null if disposed meanwhile
+     */
+    private Level grade(int stage, Random random) {
+        // Every configuration needs a first estimate before they can be compared
+        for (int config = 0; config < CONFIG_COLORS.length; config++) {
+            boolean known;
+            synchronized (lock) {
+                known = configSamples[config] != null;
+            }
+            if (!known && !simulate(config, random)) return null;
+        }
+
+        int config;
+        synchronized (lock) {
+            config = closestConfig(targetGuesses(stage));
+        }
+        // Fresh games for the chosen configuration grade this particular level
+        if (!simulate(config, random)) return null;
+
+        synchronized (lock) {
+            return buildLevel(stage, config, configSamples[config]);
+        }
+    }
+
+    /**
+     * Play SAMPLES games of a configuration and store the results; false if disposed
+     */
+    private boolean simulate(int config, Random random) {
+        SolverSimulator simulator = simulators[config];
+        if (simulator == null) {
+            simulator = new SolverSimulator(CONFIG_COLORS[config], CONFIG_LENGTHS[config], CONFIG_DUPLICATES[config]);
+            simulators[config] = simulator;
+        }
+        int[] guesses = new int[SAMPLES];
+        float sum = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            if (disposed) return false;
+            guesses[i] = simulator.play(random, MAX_TURNS);
+            sum += guesses[i];
+        }
+        Arrays.sort(guesses);
+
+        synchronized (lock) {
+            float mean = sum / SAMPLES;
+            // Running average smooths out the noise of a small sample
+            configMeans[config] = configSamples[config] == null ? mean : (configMeans[config] + mean) / 2;
+            configSamples[config] = guesses;
+        }
+        return true;
+    }
+
+    // Shared helpers (called with lock held)
+
+    /**
+     * Simulated guesses a stage should need: starts at the last pack level's
+     * configuration and rises towards the hardest one, quickly at first
+     */
+    private float targetGuesses(int stage) {
+        float anchor = estimatedGuesses(anchorConfig);
+        float hardest = anchor;
+        for (int config = 0; config < CONFIG_COLORS.length; config++) {
+            hardest = Math.max(hardest, estimatedGuesses(config));
+        }
+        return anchor + (hardest - anchor) * (1 - (float) Math.exp(-(stage - 1) / 25f));
+    }
+
+    /**
+     * Share of simulated games that must be won within the turn limit
+     */
+    private static float targetSolveRate(int stage) {
+        return 0.75f + 0.23f * (float) Math.exp(-(stage - 1) / 20f);
+    }
+
+    private float estimatedGuesses(int config) {
+        // Ungraded configurations count as ordered by their position in the table
+        return configSamples[config] != null ? configMeans[config] : 3.9f + config * 0.2f;
+    }
+
+    /**
+     * Table configuration matching a level (or the nearest one)
+     */
+    private static int configFor(Level level) {
+        int best = CONFIG_COLORS.length - 1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int config = 0; config < CONFIG_COLORS.length; config++) {
+            int distance = Math.abs(CONFIG_COLORS[config] - level.getNumColors())
+                    + 2 * Math.abs(CONFIG_LENGTHS[config] - level.getCodeLength())
+                    + (CONFIG_DUPLICATES[config] == level.allowsDuplicates() ? 0 : 1);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = config;
+            }
+        }
+        return best;
+    }
+
+    private int closestConfig(float target) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        for (int config = 0; config < CONFIG_COLORS.length; config++) {
+            float distance = Math.abs(estimatedGuesses(config) - target);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = config;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Build the level from a sorted guess sample (null = use the latest sample, if any)
+     */
+    private Level buildLevel(int stage, int config, int[] guesses) {
+        if (guesses == null) {
+            guesses = configSamples[config];
+        }
+        int codeLength = CONFIG_LENGTHS[config];
+
+        int maxTurns;
+        int threeStars;
+        int twoStars;
+        if (guesses != null) {
+            int solveIndex = Math.min(guesses.length - 1, (int) Math.ceil(targetSolveRate(stage) * guesses.length) - 1);
+            maxTurns = human(guesses[solveIndex]);
+            threeStars = human(guesses[guesses.length / 4]);
+            twoStars = human(guesses[guesses.length * 3 / 5]);
+        } else {
+            // Nothing simulated yet: generous limits like the expert levels
+            maxTurns = codeLength + 8;
+            threeStars = codeLength + 1;
+            twoStars = codeLength + 4;
+        }
+        // Never more turns than the last pack level gave
+        maxTurns = Math.min(Math.min(MAX_TURNS, lastPackLevel.getMaxTurns()), maxTurns);
+        maxTurns = Math.max(codeLength + 2, maxTurns);
+        twoStars = Math.min(maxTurns, Math.max(twoStars, threeStars + 1));
+        threeStars = Math.min(threeStars, twoStars - 1);
+
+        // Every third stage is against the clock: from stage 10 on, or at once if the pack ended timed
+        boolean timed = stage % 3 == 0 && (stage >= 10 || lastPackLevel.isTimed());
+        int timeLimit = 0;
+        if (timed) {
+            float secondsPerGuess = (12f + 18f * (float) Math.exp(-stage / 30f)) * codeLength / 4f;
+            timeLimit = Math.max(60, Math.round(maxTurns * secondsPerGuess / 10f) * 10);
+        }
+
+        Level.Difficulty difficulty = stage < 15 ? Level.Difficulty.HARD
+                : stage < 40 ? Level.Difficulty.EXPERT : Level.Difficulty.MASTER;
+        if (difficulty.ordinal() < lastPackLevel.getDifficulty().ordinal()) {
+            difficulty = lastPackLevel.getDifficulty();
+        }
+        int hints = Math.min(stage < 10 ? 2 : stage < 30 ? 1 : 0, lastPackLevel.getHintsAvailable());
+
+        return new Level.Builder(packSize + stage)
+                .name("Endless " + stage)
+                .difficulty(difficulty)
+                .numColors(CONFIG_COLORS[config])
+                .codeLength(codeLength)
+                .maxTurns(maxTurns)
+                .allowDuplicates(CONFIG_DUPLICATES[config])
+                .hints(hints)
+                .timed(timed)
+                .timeLimit(timeLimit)
+                .threeStars(threeStars).twoStars(twoStars)
+                .build();
+    }
+
+    private static int human(int simulatedGuesses) {
+        return (int) Math.ceil(simulatedGuesses * HUMAN_FACTOR);
+    }
+
+    /**
+     * Get generator statistics
+     */
+    public String getStats() {
+        synchronized (lock) {
+            return String.format("Endless: %d ready | %d generated | %d fallbacks | %d discarded | last grade %.0fms",
+                    ready.size, generated, fallbacks, discarded, lastGradeMillis);
+        }
+    }
+
+    /**
+     * Stop the worker (it finishes the game it is simulating first)
+     */
+    public void dispose() {
+        synchronized (lock) {
+            disposed = true;
+            ready.clear();
+            lock.notifyAll();
+        }
+        worker.dispose();
+        // The worker has stopped: release the enumerated code spaces
+        Arrays.fill(simulators, null);
+    }
+}
@@ -14,18 +14,20 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
  * Enhanced game screen with all features
  */
-public class EnhancedGameScreen implements Screen {
+public class EnhancedGameScreen implements Screen, RenderScheduler.Animated, BoardCache.Painter,
+        InputQueue.TouchHandler, AudioScheduler.Clock {
 
     private final MastermindHDGame game;
     private final Level level;
@@ -38,33 +40,56 @@ public class EnhancedGameScreen implements Screen {
     // Textures
     private Texture backgroundTexture;
     private Texture[] ballTextures;
-    private Texture[] pegTextures;
     private Sprite backgroundSprite;
+    private TextureRegion cursorRegion;
 
     // UI
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
     private BitmapFont smallFont;
-    private ShapeRenderer shapeRenderer;
-    private GlyphLayout layout;
+
+    // HUD labels (glyph layouts are only rebuilt when a value changes)
+    private HudText nameLabel;
+    private HudText movesLabel;
+    private HudText timerLabel;
+    private HudText infoLabel;
 
     // Game elements
     private Sprite[] selectionPanel;
     private Rectangle[] panelBounds;
-    private Sprite[][] boardPieces;
-    private Sprite[] feedbackPegs;
+    private TextureRegion[] ballRegions;
+    private BoardRenderer boardRenderer;
+    private BoardCache boardCache;
 
     // UI Buttons
-    private Rectangle hintButton;
-    private Rectangle pauseButton;
-    private Rectangle backButton;
+    private final WidgetGroup ui = new WidgetGroup();
+    private ButtonWidget hintButton;
+
+    // Touch targets for the colour panel, by colour index
+    private final HitGrid panelHits = new HitGrid(0, 0,
+            MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT, 80);
 
     // State
     private float blinkTimer = 0;
+    private float idleTime = 0;
     private boolean isPaused = false;
+
+    // Touch time of a move not yet drawn (0 = none)
+    private long moveTouchNanos = 0;
+    private final MetricsRegistry.Histogram moveLatency = MetricsRegistry.getInstance().histogram("move.feedback");
     private SoundManager soundManager;
 
-    private static final float BALL_SIZE = 64f;
-    private static final float BALL_SCALE = 0.75f;
+    private static final float BALL_SIZE = BoardRenderer.BALL_SIZE;
+    private static final float BALL_SCALE = BoardRenderer.BALL_SCALE;
+
+    // Cursor stops blinking after this long without input so the screen can idle
+    private static final float CURSOR_BLINK_IDLE_SECONDS = 6f;
+    // Timed levels tick through the last seconds, louder at the very end
+    private static final int COUNTDOWN_SECONDS = 10;
+    private static final int COUNTDOWN_LOUD_SECONDS = 3;
+
+    // Start prefetching the result screens this many rows before the end
+    private static final int PREFETCH_ROWS = 3;
 
     public EnhancedGameScreen(MastermindHDGame game, Level level) {
         this.game = game;
@@ -79,15 +104,16 @@ public class EnhancedGameScreen implements Screen {
 
         selectionPanel = new Sprite[8];
         panelBounds = new Rectangle[8];
-        boardPieces = new Sprite[level.getMaxTurns()][level.getCodeLength()];
-        feedbackPegs = new Sprite[level.getMaxTurns()];
 
         loadAssets();
         setupUI();
+
+        boardRenderer = new BoardRenderer(gameLogic, ballRegions);
+        boardCache = new BoardCache(this, viewport);
     }
 
     private void loadAssets() {
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
@@ -100,36 +126,25 @@ public class EnhancedGameScreen implements Screen {
 
         ballTextures = new Texture[8];
         for (int i = 0; i < 8; i++) {
-            ballTextures[i] = new Texture(Gdx.files.internal(ballFiles[i]));
+            ballTextures[i] = AssetCache.getInstance().getTexture(ballFiles[i]);
         }
 
-        String[] pegFiles = {
-                "gfx/peg_1B.png", "gfx/peg_1B2W.png", "gfx/peg_1B3W.png",
-                "gfx/peg_1W.png", "gfx/peg_2B.png", "gfx/peg_2B2W.png",
-                "gfx/peg_2W.png", "gfx/peg_3B.png", "gfx/peg_3B1W.png",
-                "gfx/peg_3W.png", "gfx/peg_4B.png", "gfx/peg_4W.png"
-        };
-
-        pegTextures = new Texture[12];
-        for (int i = 0; i < 12; i++) {
-            pegTextures[i] = new Texture(Gdx.files.internal(pegFiles[i]));
+        ballRegions = new TextureRegion[8];
+        for (int i = 0; i < 8; i++) {
+            ballRegions[i] = new TextureRegion(ballTextures[i]);
         }
+        cursorRegion = ballRegions[0];
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.5f);
-
-        smallFont = new BitmapFont();
-        smallFont.setColor(Color.YELLOW);
-        smallFont.getData().setScale(1.2f);
+        font = fonts.newFont(Color.WHITE);
+        fonts.setScale(font, 1.5f);
 
-        shapeRenderer = new ShapeRenderer();
-        layout = new GlyphLayout();
+        smallFont = fonts.newFont(Color.YELLOW);
+        fonts.setScale(smallFont, 1.2f);
     }
 
     private void setupUI() {
         // Selection panel
-        int panelColumn = 7;
+        int panelColumn = BoardRenderer.PANEL_COLUMN;
         int panelRowStart = 2;
 
         int colorsToShow = Math.min(level.getNumColors(), 8);
@@ -145,13 +160,81 @@ public class EnhancedGameScreen implements Screen {
         }
 
         // Buttons
-        hintButton = new Rectangle(10, MastermindHDGame.GAME_HEIGHT - 120, 120, 50);
-        pauseButton = new Rectangle(10, MastermindHDGame.GAME_HEIGHT - 180, 120, 50);
-        backButton = new Rectangle(10, MastermindHDGame.GAME_HEIGHT - 60, 120, 50);
+        hintButton = ui.add(new ButtonWidget(font, 1.2f, Color.WHITE)).setColor(0.8f, 0.6f, 0.2f, 1f)
+                .onClick(this::useHint);
+        hintButton.setBounds(10, MastermindHDGame.GAME_HEIGHT - 120, 120, 50);
+
+        // Pause also resumes while paused
+        ui.add(new ButtonWidget(font, 1.2f, Color.WHITE)).setText("Pause").setColor(0.2f, 0.5f, 0.8f, 1f)
+                .onClick(() -> {
+                    soundManager.playTap();
+                    isPaused = !isPaused;
+                })
+                .setBounds(10, MastermindHDGame.GAME_HEIGHT - 180, 120, 50);
+
+        ui.add(new ButtonWidget(font, 1.2f, Color.WHITE)).setText("Back").setColor(0.7f, 0.2f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showLevelSelect();
+                })
+                .setBounds(10, MastermindHDGame.GAME_HEIGHT - 60, 120, 50);
+
+        for (int i = 0; i < colorsToShow; i++) {
+            panelHits.add(panelBounds[i], i);
+        }
+
+        // HUD text
+        nameLabel = new HudText(font, 1.3f, Color.WHITE)
+                .setText(level.getName())
+                .setPosition(10, MastermindHDGame.GAME_HEIGHT - 10);
+        movesLabel = new HudText(font, 1.3f, Color.WHITE)
+                .setPosition(MastermindHDGame.GAME_WIDTH - 150, MastermindHDGame.GAME_HEIGHT - 10);
+        timerLabel = new HudText(font, 1.3f, Color.WHITE)
+                .setPosition(MastermindHDGame.GAME_WIDTH / 2 - 50, MastermindHDGame.GAME_HEIGHT - 10);
+
+        infoLabel = new HudText(smallFont, 1.0f, Color.YELLOW);
+        infoLabel.begin()
+                .append(level.getNumColors()).append(" colors | ")
+                .append(level.getCodeLength()).append(" pegs | ")
+                .append(level.allowsDuplicates() ? "Duplicates OK" : "No duplicates");
+        infoLabel.end();
+        infoLabel.setBounds(0, 30, MastermindHDGame.GAME_WIDTH, Align.center);
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    @Override
+    public void show() {
+        if (level.isTimed()) {
+            AudioScheduler scheduler = AudioScheduler.getInstance();
+            scheduler.bind(this);
+            scheduleCountdown(scheduler);
+        }
+    }
+
+    /**
+     * One tick per second for the last seconds of a timed level
+     */
+    private void scheduleCountdown(AudioScheduler scheduler) {
+        float limit = level.getTimeLimit();
+        for (int remaining = COUNTDOWN_SECONDS; remaining >= 1; remaining--) {
+            float at = limit - remaining;
+            if (at < gameLogic.getElapsedTime()) continue;
+            scheduler.schedule("tick", at, remaining <= COUNTDOWN_LOUD_SECONDS ? 1f : 0.5f);
+        }
     }
 
     @Override
-    public void show() {}
+    public float getClockTime() {
+        return gameLogic.getElapsedTime();
+    }
+
+    @Override
+    public boolean isClockRunning() {
+        return !isPaused && !gameLogic.isGameOver();
+    }
 
     @Override
     public void render(float delta) {
@@ -159,12 +242,13 @@ public class EnhancedGameScreen implements Screen {
         if (!isPaused && !gameLogic.isGameOver()) {
             if (gameLogic.updateTime(delta)) {
                 // Time expired - go to lose screen
-                game.setScreen(new LoseScreen(game, level));
+                game.screens.showLose(level);
                 return;
             }
         }
 
         blinkTimer += delta;
+        idleTime += delta;
 
         Gdx.gl.glClearColor(0.4f, 0.3f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -172,32 +256,14 @@ public class EnhancedGameScreen implements Screen {
         camera.update();
         game.batch.setProjectionMatrix(camera.combined);
 
-        if (!isPaused) {
-            handleInput();
-        }
+        handleInput();
 
-        // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
+        // Static board (background, panel, placed pieces, pegs) comes from the cache
+        boardCache.update(game.batch);
+        game.batch.setProjectionMatrix(camera.combined);
 
-        // Draw selection panel
-        game.batch.begin();
-        int colorsToShow = Math.min(level.getNumColors(), 8);
-        for (int i = 0; i < colorsToShow; i++) {
-            selectionPanel[i].draw(game.batch);
-        }
-        game.batch.end();
-
-        // Draw board pieces
-        game.batch.begin();
-        for (int row = 0; row < level.getMaxTurns(); row++) {
-            for (int col = 0; col < level.getCodeLength(); col++) {
-                if (boardPieces[row][col] != null) {
-                    boardPieces[row][col].draw(game.batch);
-                }
-            }
-        }
+        RenderQueue queue = game.renderQueue;
+        queue.custom(RenderQueue.LAYER_BACKGROUND, boardCache);
 
         // Draw blinking cursor
         if (!gameLogic.isGameOver()) {
@@ -205,141 +271,144 @@ public class EnhancedGameScreen implements Screen {
             int currentPos = gameLogic.getCurrentPosition();
 
             if (currentPos < level.getCodeLength()) {
-                float alpha = (float) Math.abs(Math.sin(blinkTimer * Math.PI));
-                float x = gridToPixelX(currentPos + 1);
-                float y = gridToPixelYBoard(13 - currentTurn);
+                float alpha = isCursorBlinking() ? UIEffects.getBlinkAlpha(blinkTimer) : 1f;
+                float x = boardRenderer.getCellX(currentPos);
+                float y = boardRenderer.getRowY(currentTurn);
 
-                game.batch.setColor(1, 1, 1, alpha * 0.5f);
-                game.batch.draw(ballTextures[0], x, y, BALL_SIZE * BALL_SCALE, BALL_SIZE * BALL_SCALE);
-                game.batch.setColor(1, 1, 1, 1);
+                queue.draw(RenderQueue.LAYER_WORLD, cursorRegion, x, y, BALL_SIZE * BALL_SCALE, BALL_SIZE * BALL_SCALE,
+                        Color.toFloatBits(1f, 1f, 1f, alpha * 0.5f));
             }
         }
 
-        // Draw feedback pegs
-        for (int row = 0; row < level.getMaxTurns(); row++) {
-            if (feedbackPegs[row] != null) {
-                feedbackPegs[row].draw(game.batch);
-            }
-        }
-        game.batch.end();
-
         // Draw UI buttons
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        shapeRenderer.setColor(0.8f, 0.6f, 0.2f, 1f);
-        shapeRenderer.rect(hintButton.x, hintButton.y, hintButton.width, hintButton.height);
-
-        shapeRenderer.setColor(0.2f, 0.5f, 0.8f, 1f);
-        shapeRenderer.rect(pauseButton.x, pauseButton.y, pauseButton.width, pauseButton.height);
-
-        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(backButton.x, backButton.y, backButton.width, backButton.height);
-
-        shapeRenderer.end();
-
-        // Draw text
-        game.batch.begin();
+        hintButton.getLabel().begin().append("Hint (").append(gameLogic.getHintsRemaining()).append(')');
+        hintButton.getLabel().end();
+        ui.draw(queue);
 
         // Level info
-        font.getData().setScale(1.3f);
-        font.draw(game.batch, level.getName(), 10, MastermindHDGame.GAME_HEIGHT - 10);
+        queue.text(RenderQueue.LAYER_TEXT, nameLabel);
 
         // Move counter
-        String moves = "Move: " + (gameLogic.getCurrentTurn() + 1) + "/" + level.getMaxTurns();
-        font.draw(game.batch, moves, MastermindHDGame.GAME_WIDTH - 150, MastermindHDGame.GAME_HEIGHT - 10);
+        movesLabel.begin().append("Move: ").append(gameLogic.getCurrentTurn() + 1).append('/').append(level.getMaxTurns());
+        movesLabel.end();
+        queue.text(RenderQueue.LAYER_TEXT, movesLabel);
 
         // Timer (if timed level)
         if (level.isTimed()) {
             int remaining = (int) gameLogic.getRemainingTime();
             int minutes = remaining / 60;
             int seconds = remaining % 60;
-            String timeStr = String.format("⏱ %d:%02d", minutes, seconds);
-            font.draw(game.batch, timeStr, MastermindHDGame.GAME_WIDTH / 2 - 50, MastermindHDGame.GAME_HEIGHT - 10);
+            timerLabel.begin().append("⏱ ").append(minutes).append(':').append(seconds, 2);
+            timerLabel.end();
+            queue.text(RenderQueue.LAYER_TEXT, timerLabel);
+
+            // Wake up again when the displayed second changes
+            if (!isPaused && !gameLogic.isGameOver()) {
+                float untilNextSecond = gameLogic.getRemainingTime() - remaining;
+                RenderScheduler.getInstance().requestRenderAfter(untilNextSecond + 0.01f);
+            }
         }
 
-        // Button text
-        font.getData().setScale(1.2f);
-        drawCenteredText("Hint (" + gameLogic.getHintsRemaining() + ")", hintButton);
-        drawCenteredText("Pause", pauseButton);
-        drawCenteredText("Back", backButton);
-
         // Level info at bottom
-        smallFont.getData().setScale(1.0f);
-        String info = String.format("%d colors | %d pegs | %s",
-                level.getNumColors(),
-                level.getCodeLength(),
-                level.allowsDuplicates() ? "Duplicates OK" : "No duplicates");
-        layout.setText(smallFont, info);
-        smallFont.draw(game.batch, info, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 30);
+        queue.text(RenderQueue.LAYER_TEXT, infoLabel);
 
-        game.batch.end();
+        queue.flush(game.batch);
+
+        // Touch to the frame that shows the new ball (and pegs)
+        if (moveTouchNanos != 0) {
+            moveLatency.recordSince(moveTouchNanos);
+            moveTouchNanos = 0;
+        }
 
         // Check for game over
         if (gameLogic.isGameOver() && !isPaused) {
             if (gameLogic.didPlayerWin()) {
                 int stars = gameLogic.getStarRating();
-                GameProgress.getInstance().completeLevel(level.getLevelNumber(), stars);
-                game.setScreen(new WinScreen(game, level, stars, gameLogic.getCurrentTurn()));
+                EndlessMode endless = EndlessMode.getInstance();
+                if (endless.isEndless(level)) {
+                    endless.complete(level);
+                } else {
+                    GameProgress.getInstance().completeLevel(level.getLevelNumber(), stars);
+                }
+                game.screens.showWin(level, stars, gameLogic.getCurrentTurn());
             } else {
-                game.setScreen(new LoseScreen(game, level));
+                game.screens.showLose(level);
             }
         }
     }
 
-    private void drawCenteredText(String text, Rectangle button) {
-        layout.setText(font, text);
-        float x = button.x + (button.width - layout.width) / 2;
-        float y = button.y + (button.height + layout.height) / 2;
-        font.draw(game.batch, text, x, y);
+    /**
+     * Draw everything that only changes when a piece is placed
+     */
+    @Override
+    public void paintStatic(SpriteBatch batch) {
+        backgroundSprite.draw(batch);
+
+        int colorsToShow = Math.min(level.getNumColors(), 8);
+        for (int i = 0; i < colorsToShow; i++) {
+            selectionPanel[i].draw(batch);
+        }
+
+        boardRenderer.paintAll(batch);
+    }
+
+    @Override
+    public boolean hasStaticChanges() {
+        return boardRenderer.hasChanges();
+    }
+
+    @Override
+    public void paintStaticChanges(SpriteBatch batch) {
+        boardRenderer.paintChanges(batch);
+    }
+
+    private boolean isCursorBlinking() {
+        return idleTime < CURSOR_BLINK_IDLE_SECONDS;
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return !isPaused && !gameLogic.isGameOver() && isCursorBlinking();
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            // Check hint button
-            if (hintButton.contains(touchPoint.x, touchPoint.y)) {
-                int hintColor = gameLogic.useHint();
-                if (hintColor >= 0) {
-                    soundManager.playHint();
-                    Gdx.app.log("GameScreen", "Hint: Color " + MastermindGame.getColorName(hintColor));
-                    // Could show a visual hint here
-                } else {
-                    soundManager.playWrong();
-                }
-                return;
-            }
+        game.input.process(this);
+    }
 
-            // Check pause button
-            if (pauseButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playTap();
-                isPaused = !isPaused;
-                return;
-            }
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        idleTime = 0;
 
-            // Check back button
-            if (backButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new LevelSelectScreen(game));
-                return;
-            }
+        // Buttons (hint, pause, back)
+        if (ui.touch(touchPoint.x, touchPoint.y)) return;
 
-            // Check color selection
-            int colorsToShow = Math.min(level.getNumColors(), 8);
-            for (int i = 0; i < colorsToShow; i++) {
-                if (panelBounds[i].contains(touchPoint.x, touchPoint.y)) {
-                    handleColorSelection(i);
-                    break;
-                }
-            }
+        // Every tap queued behind the winning move is ignored
+        if (isPaused || gameLogic.isGameOver()) return;
+
+        // Check color selection
+        int color = panelHits.hit(touchPoint.x, touchPoint.y);
+        if (color >= 0) {
+            handleColorSelection(color, event.timeNanos);
         }
     }
 
-    private void handleColorSelection(int colorIndex) {
+    private void useHint() {
+        if (isPaused || gameLogic.isGameOver()) return;
+
+        int hintColor = gameLogic.useHint();
+        if (hintColor >= 0) {
+            soundManager.playHint();
+            Gdx.app.log("GameScreen", "Hint: Color " + MastermindGame.getColorName(hintColor));
+            // Could show a visual hint here
+        } else {
+            soundManager.playWrong();
+        }
+    }
+
+    private void handleColorSelection(int colorIndex, long touchNanos) {
         try {
-            int currentTurn = gameLogic.getCurrentTurn();
             int currentPos = gameLogic.getCurrentPosition();
 
             if (currentPos >= level.getCodeLength()) {
@@ -348,18 +417,18 @@ public class EnhancedGameScreen implements Screen {
 
             soundManager.playPlace();
 
-            float x = gridToPixelX(currentPos + 1);
-            float y = gridToPixelYBoard(13 - currentTurn);
-
-            boardPieces[currentTurn][currentPos] = new Sprite(ballTextures[colorIndex]);
-            boardPieces[currentTurn][currentPos].setPosition(x, y);
-            boardPieces[currentTurn][currentPos].setSize(BALL_SIZE * BALL_SCALE, BALL_SIZE * BALL_SCALE);
-
+            // The board renderer picks the new ball and pegs up from the game state
             MastermindGame.Feedback feedback = gameLogic.makeMove(colorIndex);
+            moveTouchNanos = touchNanos;
 
             if (feedback != null) {
                 soundManager.playComplete();
-                displayFeedback(currentTurn, feedback);
+
+                // Close to the end: prepare the result screens and next level
+                int rowsLeft = level.getMaxTurns() - gameLogic.getCurrentTurn();
+                if (rowsLeft <= PREFETCH_ROWS || feedback.blackPegs >= level.getCodeLength() - 1) {
+                    PrefetchScheduler.getInstance().prefetchResults(game, level);
+                }
 
                 // Play feedback sound
                 if (feedback.blackPegs > 0) {
@@ -373,47 +442,14 @@ public class EnhancedGameScreen implements Screen {
         }
     }
 
-    private void displayFeedback(int row, MastermindGame.Feedback feedback) {
-        int pegIndex = getPegTextureIndex(feedback.blackPegs, feedback.whitePegs);
-
-        if (pegIndex >= 0) {
-            float x = gridToPixelX(5);
-            float y = gridToPixelYBoard(13 - row);
-
-            feedbackPegs[row] = new Sprite(pegTextures[pegIndex]);
-            feedbackPegs[row].setPosition(x, y);
-            feedbackPegs[row].setSize(BALL_SIZE * 0.8f, BALL_SIZE * 0.8f);
-        }
-    }
-
-    private int getPegTextureIndex(int black, int white) {
-        if (black == 0 && white == 0) return -1;
-        if (black == 1 && white == 0) return 0;
-        if (black == 1 && white == 2) return 1;
-        if (black == 1 && white == 3) return 2;
-        if (black == 0 && white == 1) return 3;
-        if (black == 2 && white == 0) return 4;
-        if (black == 2 && white == 2) return 5;
-        if (black == 0 && white == 2) return 6;
-        if (black == 3 && white == 0) return 7;
-        if (black == 3 && white == 1) return 8;
-        if (black == 0 && white == 3) return 9;
-        if (black == 4 && white == 0) return 10;
-        if (black == 0 && white == 4) return 11;
-        return -1;
-    }
-
     private float gridToPixelX(int gridX) {
-        return gridX * (MastermindHDGame.GAME_WIDTH / 8f + 2) - 32;
+        return BoardRenderer.columnX(gridX);
     }
 
     private float gridToPixelY(int gridY) {
         return gridY * (MastermindHDGame.GAME_HEIGHT / 10f) - 32;
     }
 
-    private float gridToPixelYBoard(int gridY) {
-        return gridY * (MastermindHDGame.GAME_HEIGHT / 15f) - 32;
-    }
 
     @Override
     public void resize(int width, int height) {
@@ -425,22 +461,19 @@ public class EnhancedGameScreen implements Screen {
     public void pause() {}
 
     @Override
-    public void resume() {}
+    public void resume() {
+        // Framebuffer contents do not survive a lost GL context
+        boardCache.invalidate();
+        RenderScheduler.getInstance().requestRender();
+    }
 
     @Override
-    public void hide() {}
+    public void hide() {
+        AudioScheduler.getInstance().unbind(this);
+    }
 
     @Override
     public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        for (Texture texture : ballTextures) {
-            if (texture != null) texture.dispose();
-        }
-        for (Texture texture : pegTextures) {
-            if (texture != null) texture.dispose();
-        }
-        if (font != null) font.dispose();
-        if (smallFont != null) smallFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
+        if (boardCache != null) boardCache.dispose();
     }
 }
@@ -0,0 +1,151 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Font Manager
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Shared distance-field font for all screens
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Loads one font atlas for the whole game: the signed-distance-field
+ * atlas (fonts/hud-sdf.fnt, built by SdfFontWriter) through AssetCache,
+ * drawn by RenderQueue's distance-field shader so it stays sharp at any
+ * scale. If the atlas is missing or the shader cannot be compiled, the
+ * built-in font is shared instead. Screens get lightweight BitmapFont
+ * views that share the glyph data and texture but keep their own colour.
+ *
+ * Scales passed to setScale() are relative to the built-in 15px font:
+ * the atlas is scaled so its letters and digits are as wide on average,
+ * so screen layouts (sized for the built-in font) still fit.
+ */
+public class FontManager {
+    private static FontManager instance;
+    private static final int SPAN_LOAD = TraceRecorder.name("FontManager.load");
+
+    private static final String SDF_FONT_PATH = "fonts/hud-sdf.fnt";
+
+    // Average advance of the built-in lsans-15 font over these characters
+    private static final String REFERENCE_CHARS =
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final float REFERENCE_ADVANCE = 8.387f;
+
+    private BitmapFont sharedFont;
+    private boolean distanceField = false;
+    private boolean distanceFieldSupported = true;
+    private float baseScale = 1f;
+    private int views = 0;
+
+    private FontManager() {
+    }
+
+    public static FontManager getInstance() {
+        if (instance == null) {
+            instance = new FontManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Load the shared atlas (once)
+     */
+    public void load() {
+        if (sharedFont != null) return;
+        long start = TimeUtils.nanoTime();
+
+        if (distanceFieldSupported && Gdx.files.internal(SDF_FONT_PATH).exists()) {
+            sharedFont = AssetCache.getInstance().getFont(SDF_FONT_PATH);
+        }
+        distanceField = sharedFont != null;
+
+        if (sharedFont == null) {
+            sharedFont = new BitmapFont();
+            sharedFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        }
+        sharedFont.setUseIntegerPositions(false);
+        baseScale = REFERENCE_ADVANCE / averageAdvance(sharedFont.getData());
+
+        Gdx.app.log("FontManager", (distanceField ? "Loaded distance-field font" : "Using built-in font")
+                + " (base scale " + baseScale + ")");
+        MetricsRegistry.getInstance().histogram("load.font").recordSince(start);
+        TraceRecorder.getInstance().end(SPAN_LOAD, start);
+    }
+
+    private static float averageAdvance(BitmapFont.BitmapFontData data) {
+        int total = 0;
+        int count = 0;
+        for (int i = 0; i < REFERENCE_CHARS.length(); i++) {
+            BitmapFont.Glyph glyph = data.getGlyph(REFERENCE_CHARS.charAt(i));
+            if (glyph != null) {
+                total += glyph.xadvance;
+                count++;
+            }
+        }
+        return count == 0 ? REFERENCE_ADVANCE : total / (float) count;
+    }
+
+    /**
+     * Called by RenderQueue when the distance-field shader does not compile
+     * (before load(), which then falls back to the built-in font)
+     */
+    public void setDistanceFieldSupported(boolean supported) {
+        distanceFieldSupported = supported;
+    }
+
+    /**
+     * A font view sharing the atlas, with its own colour
+     */
+    public BitmapFont newFont(Color color) {
+        load();
+        BitmapFont font = new BitmapFont(sharedFont.getData(), sharedFont.getRegions(), false);
+        font.setColor(color);
+        views++;
+        return font;
+    }
+
+    /**
+     * Set a font's scale, relative to the built-in 15px font
+     * (views share glyph data, so set it before each use)
+     */
+    public void setScale(BitmapFont font, float scale) {
+        font.getData().setScale(toFontScale(scale));
+    }
+
+    /**
+     * Convert a scale relative to the built-in font into an atlas scale
+     */
+    public float toFontScale(float scale) {
+        return scale * baseScale;
+    }
+
+    /**
+     * Atlas page that must be drawn with the distance-field shader, or null
+     */
+    public Texture getDistanceFieldTexture() {
+        return distanceField ? sharedFont.getRegion().getTexture() : null;
+    }
+
+    /**
+     * Get font statistics
+     */
+    public String getStats() {
+        return String.format("Font: %s | %d views | base scale %.2f",
+                distanceField ? "distance field" : "built-in", views, baseScale);
+    }
+
+    public void dispose() {
+        // The distance-field atlas belongs to AssetCache
+        if (sharedFont != null && !distanceField) {
+            sharedFont.dispose();
+        }
+        sharedFont = null;
+        distanceField = false;
+        views = 0;
+    }
+}
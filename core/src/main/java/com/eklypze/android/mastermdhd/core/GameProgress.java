@@ -9,6 +9,7 @@ package com.eklypze.android.mastermdhd.core;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Manages player progress, level unlocking, and star ratings
@@ -18,12 +19,21 @@ public class GameProgress {
     private static GameProgress instance;
     private final Preferences prefs;
 
+    // Bumped on every change so screens can cache what they show
+    private int revision = 0;
+
     private static final String PREF_NAME = "MastermindHD_Progress";
     private static final String KEY_HIGHEST_UNLOCKED = "highest_unlocked";
     private static final String KEY_LEVEL_STARS = "level_%d_stars";
     private static final String KEY_LEVEL_COMPLETED = "level_%d_completed";
     private static final String KEY_SOUND_ENABLED = "sound_enabled";
     private static final String KEY_MUSIC_ENABLED = "music_enabled";
+    private static final String KEY_ENDLESS_STAGE = "endless_stage";
+    private static final String KEY_DEVELOPER_MODE = "developer_mode";
+
+    private static final int SPAN_FLUSH = TraceRecorder.name("GameProgress.flush");
+    private static final MetricsRegistry.Histogram FLUSH_TIME =
+            MetricsRegistry.getInstance().histogram("GameProgress.flush");
 
     private GameProgress() {
         prefs = Gdx.app.getPreferences(PREF_NAME);
@@ -33,17 +43,28 @@ public class GameProgress {
             prefs.putInteger(KEY_HIGHEST_UNLOCKED, 1);
             prefs.putBoolean(KEY_SOUND_ENABLED, true);
             prefs.putBoolean(KEY_MUSIC_ENABLED, true);
-            prefs.flush();
+            flush();
         }
     }
 
-    public static GameProgress getInstance() {
+    // Synchronized: first created on a startup worker thread
+    public static synchronized GameProgress getInstance() {
         if (instance == null) {
             instance = new GameProgress();
         }
         return instance;
     }
 
+    /**
+     * Write pending changes to storage (traced: can stall on slow flash)
+     */
+    private void flush() {
+        long start = TimeUtils.nanoTime();
+        prefs.flush();
+        FLUSH_TIME.recordSince(start);
+        TraceRecorder.getInstance().end(SPAN_FLUSH, start);
+    }
+
     /**
      * Get the highest unlocked level number
      */
@@ -65,7 +86,8 @@ public class GameProgress {
         int currentHighest = getHighestUnlockedLevel();
         if (levelNumber > currentHighest) {
             prefs.putInteger(KEY_HIGHEST_UNLOCKED, levelNumber);
-            prefs.flush();
+            flush();
+            revision++;
         }
     }
 
@@ -90,11 +112,12 @@ public class GameProgress {
         prefs.putBoolean(completedKey, true);
 
         // Unlock next level (if not at max)
-        if (levelNumber < 100) {
+        if (levelNumber < LevelManager.getInstance().getTotalLevels()) {
             unlockLevel(levelNumber + 1);
         }
 
-        prefs.flush();
+        flush();
+        revision++;
     }
 
     /**
@@ -118,7 +141,8 @@ public class GameProgress {
      */
     public int getTotalStars() {
         int total = 0;
-        for (int i = 1; i <= 100; i++) {
+        int levels = LevelManager.getInstance().getTotalLevels();
+        for (int i = 1; i <= levels; i++) {
             total += getLevelStars(i);
         }
         return total;
@@ -129,7 +153,8 @@ public class GameProgress {
      */
     public int getTotalLevelsCompleted() {
         int total = 0;
-        for (int i = 1; i <= 100; i++) {
+        int levels = LevelManager.getInstance().getTotalLevels();
+        for (int i = 1; i <= levels; i++) {
             if (isLevelCompleted(i)) {
                 total++;
             }
@@ -137,19 +162,42 @@ public class GameProgress {
         return total;
     }
 
+    /**
+     * Next endless stage to play (1 until the first endless win)
+     */
+    public int getEndlessStage() {
+        return prefs.getInteger(KEY_ENDLESS_STAGE, 1);
+    }
+
+    public void setEndlessStage(int stage) {
+        prefs.putInteger(KEY_ENDLESS_STAGE, stage);
+        flush();
+        revision++;
+    }
+
     /**
      * Reset all progress (for settings menu)
      */
     public void resetAllProgress() {
-        // Keep sound/music settings
+        // Keep sound/music/developer settings
         boolean sound = isSoundEnabled();
         boolean music = isMusicEnabled();
+        boolean developer = isDeveloperMode();
 
         prefs.clear();
         prefs.putInteger(KEY_HIGHEST_UNLOCKED, 1);
         prefs.putBoolean(KEY_SOUND_ENABLED, sound);
         prefs.putBoolean(KEY_MUSIC_ENABLED, music);
-        prefs.flush();
+        prefs.putBoolean(KEY_DEVELOPER_MODE, developer);
+        flush();
+        revision++;
+    }
+
+    /**
+     * Changes whenever level progress changes
+     */
+    public int getRevision() {
+        return revision;
     }
 
     // Sound and music settings
@@ -160,7 +208,7 @@ public class GameProgress {
 
     public void setSoundEnabled(boolean enabled) {
         prefs.putBoolean(KEY_SOUND_ENABLED, enabled);
-        prefs.flush();
+        flush();
     }
 
     public boolean isMusicEnabled() {
@@ -169,20 +217,32 @@ public class GameProgress {
 
     public void setMusicEnabled(boolean enabled) {
         prefs.putBoolean(KEY_MUSIC_ENABLED, enabled);
-        prefs.flush();
+        flush();
+    }
+
+    /**
+     * Developer tools (HUD and trace gestures) in release builds; see SettingsScreen
+     */
+    public boolean isDeveloperMode() {
+        return prefs.getBoolean(KEY_DEVELOPER_MODE, false);
+    }
+
+    public void setDeveloperMode(boolean enabled) {
+        prefs.putBoolean(KEY_DEVELOPER_MODE, enabled);
+        flush();
     }
 
     /**
      * Get completion percentage (0-100)
      */
     public int getCompletionPercentage() {
-        return (getTotalLevelsCompleted() * 100) / 100;
+        return (getTotalLevelsCompleted() * 100) / LevelManager.getInstance().getTotalLevels();
     }
 
     /**
      * Check if player has achieved 3 stars on all levels
      */
     public boolean isPerfectCompletion() {
-        return getTotalStars() == 300; // 100 levels × 3 stars
+        return getTotalStars() == LevelManager.getInstance().getTotalLevels() * 3;
     }
 }
@@ -9,6 +9,7 @@ package com.eklypze.android.mastermdhd.core;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Singleton class for tracking player statistics
@@ -29,17 +30,32 @@ public class GameStats {
     private static final String KEY_CURRENT_STREAK = "stats_current_streak";
     private static final String KEY_BEST_STREAK = "stats_best_streak";
 
+    private static final int SPAN_FLUSH = TraceRecorder.name("GameStats.flush");
+    private static final MetricsRegistry.Histogram FLUSH_TIME =
+            MetricsRegistry.getInstance().histogram("GameStats.flush");
+
     private GameStats() {
         prefs = Gdx.app.getPreferences("MastermindHD_Stats");
     }
 
-    public static GameStats getInstance() {
+    // Synchronized: first created on a startup worker thread
+    public static synchronized GameStats getInstance() {
         if (instance == null) {
             instance = new GameStats();
         }
         return instance;
     }
 
+    /**
+     * Write pending changes to storage (traced: can stall on slow flash)
+     */
+    private void flush() {
+        long start = TimeUtils.nanoTime();
+        prefs.flush();
+        FLUSH_TIME.recordSince(start);
+        TraceRecorder.getInstance().end(SPAN_FLUSH, start);
+    }
+
     /**
      * Record a completed game
      */
@@ -85,7 +101,7 @@ public class GameStats {
             prefs.putInteger(KEY_CURRENT_STREAK, 0); // Reset streak on loss
         }
 
-        prefs.flush();
+        flush();
     }
 
     // Getters
@@ -135,7 +151,7 @@ public class GameStats {
      */
     public void reset() {
         prefs.clear();
-        prefs.flush();
+        flush();
         Gdx.app.log("GameStats", "Statistics reset");
     }
 
@@ -0,0 +1,108 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Hit Grid
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Uniform grid for touch hit testing
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Buckets touch targets into fixed-size cells so a hit test only looks
+ * at the few targets overlapping the touched cell instead of scanning
+ * every rectangle on the screen. Targets are identified by the id
+ * passed to add(); later targets win where they overlap.
+ */
+public class HitGrid {
+
+    private final float originX;
+    private final float originY;
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+
+    private final IntArray[] cells;
+    private final Array<Rectangle> bounds = new Array<>();
+    private final IntArray ids = new IntArray();
+
+    public HitGrid(float x, float y, float width, float height, float cellSize) {
+        this.originX = x;
+        this.originY = y;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+        cells = new IntArray[columns * rows];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new IntArray(4);
+        }
+    }
+
+    /**
+     * Register a target; the rectangle is referenced, not copied
+     */
+    public void add(Rectangle rect, int id) {
+        int index = bounds.size;
+        bounds.add(rect);
+        ids.add(id);
+
+        int minCol = clampColumn(rect.x);
+        int maxCol = clampColumn(rect.x + rect.width);
+        int minRow = clampRow(rect.y);
+        int maxRow = clampRow(rect.y + rect.height);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                cells[row * columns + col].add(index);
+            }
+        }
+    }
+
+    /**
+     * Id of the target under a point, or -1
+     */
+    public int hit(float x, float y) {
+        float localX = x - originX;
+        float localY = y - originY;
+        if (localX < 0 || localY < 0) return -1;
+
+        int col = (int) (localX / cellSize);
+        int row = (int) (localY / cellSize);
+        if (col >= columns || row >= rows) return -1;
+
+        IntArray cell = cells[row * columns + col];
+        for (int i = cell.size - 1; i >= 0; i--) {
+            int index = cell.get(i);
+            if (bounds.get(index).contains(x, y)) {
+                return ids.get(index);
+            }
+        }
+        return -1;
+    }
+
+    public void clear() {
+        for (IntArray cell : cells) {
+            cell.clear();
+        }
+        bounds.clear();
+        ids.clear();
+    }
+
+    public int size() {
+        return bounds.size;
+    }
+
+    private int clampColumn(float x) {
+        int col = (int) ((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, col));
+    }
+
+    private int clampRow(float y) {
+        int row = (int) ((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+}
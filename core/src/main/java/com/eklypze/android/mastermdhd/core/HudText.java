@@ -0,0 +1,174 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - HUD Text
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Cached text layouts for frequently drawn labels
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * A label backed by a BitmapFontCache. The glyph layout is only rebuilt
+ * when the text actually changes; numbers are appended into a reusable
+ * buffer, so updating and drawing a HUD value allocates nothing.
+ *
+ * Usage:
+ *   timer.begin().append(minutes).append(':').append(seconds, 2);
+ *   timer.end();
+ */
+public class HudText implements RenderQueue.Drawable {
+
+    // Shared star strings (index = star count)
+    private static final String[] STAR_STRINGS = { "", "⭐", "⭐⭐", "⭐⭐⭐" };
+
+    private final BitmapFont font;
+    private final BitmapFontCache cache;
+    private final float scale;  // atlas scale (see FontManager)
+    private final Color color = new Color();
+
+    private StringBuilder text = new StringBuilder(32);
+    private StringBuilder pending = new StringBuilder(32);
+
+    private float x, y;
+    private float targetWidth = 0;
+    private int align = Align.left;
+
+    private boolean dirty = true;
+    private float width, height;
+    private int rebuilds = 0;
+
+    public HudText(BitmapFont font, float scale, Color color) {
+        this.font = font;
+        this.cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        this.scale = FontManager.getInstance().toFontScale(scale);
+        this.color.set(color);
+    }
+
+    /**
+     * Start writing a new value. Append to the returned buffer, then call end().
+     */
+    public StringBuilder begin() {
+        pending.setLength(0);
+        return pending;
+    }
+
+    /**
+     * Finish a value started with begin(); re-layout only if it changed
+     */
+    public void end() {
+        if (pending.equals(text)) return;
+
+        StringBuilder swap = text;
+        text = pending;
+        pending = swap;
+        dirty = true;
+    }
+
+    /**
+     * Set a fixed value
+     */
+    public HudText setText(CharSequence value) {
+        begin().append(value);
+        end();
+        return this;
+    }
+
+    /**
+     * Left-aligned at (x, y)
+     */
+    public HudText setPosition(float x, float y) {
+        return setBounds(x, y, 0, Align.left);
+    }
+
+    /**
+     * Aligned within a box of the given width starting at x
+     */
+    public HudText setBounds(float x, float y, float targetWidth, int align) {
+        if (this.x != x || this.y != y || this.targetWidth != targetWidth || this.align != align) {
+            this.x = x;
+            this.y = y;
+            this.targetWidth = targetWidth;
+            this.align = align;
+            dirty = true;
+        }
+        return this;
+    }
+
+    /**
+     * Centre a single line inside a button
+     */
+    public HudText centerIn(Rectangle bounds) {
+        float capHeight = font.getData().capHeight / font.getData().scaleY * scale;
+        return setBounds(bounds.x, bounds.y + (bounds.height + capHeight) / 2, bounds.width, Align.center);
+    }
+
+    public HudText setColor(Color newColor) {
+        if (!color.equals(newColor)) {
+            color.set(newColor);
+            dirty = true;
+        }
+        return this;
+    }
+
+    /**
+     * Rebuild the cached glyph vertices using this label's scale
+     */
+    private void rebuild() {
+        float oldScaleX = font.getData().scaleX;
+        float oldScaleY = font.getData().scaleY;
+        font.getData().setScale(scale);
+
+        cache.clear();
+        cache.setColor(color);
+        cache.addText(text, x, y, targetWidth, align, false);
+        width = cache.getLayouts().size > 0 ? cache.getLayouts().first().width : 0;
+        height = cache.getLayouts().size > 0 ? cache.getLayouts().first().height : 0;
+
+        font.getData().setScale(oldScaleX, oldScaleY);
+        dirty = false;
+        rebuilds++;
+    }
+
+    @Override
+    public void draw(SpriteBatch batch) {
+        if (dirty) rebuild();
+        cache.draw(batch);
+    }
+
+    public Texture getTexture() {
+        return font.getRegion().getTexture();
+    }
+
+    public float getWidth() {
+        if (dirty) rebuild();
+        return width;
+    }
+
+    public float getHeight() {
+        if (dirty) rebuild();
+        return height;
+    }
+
+    /**
+     * Number of times the layout was rebuilt (for profiling)
+     */
+    public int getRebuilds() {
+        return rebuilds;
+    }
+
+    /**
+     * Shared "⭐" string for a star count (0-3)
+     */
+    public static String stars(int count) {
+        return STAR_STRINGS[Math.max(0, Math.min(3, count))];
+    }
+}
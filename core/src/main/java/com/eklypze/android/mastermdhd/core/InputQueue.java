@@ -0,0 +1,246 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Input Queue
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Timestamped touch events for the current screen
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Records every touch as it arrives instead of letting screens poll
+ * Gdx.input once per frame, where two taps inside one frame collapse
+ * into one. Screens drain the queue from render() with process(); events
+ * are pooled, so input produces no garbage.
+ *
+ * Installed once as the global input processor by MastermindHDGame.
+ * Changing screens drops whatever the old screen did not consume.
+ */
+public class InputQueue extends InputAdapter {
+
+    public static final int TOUCH_DOWN = 0;
+    public static final int TOUCH_UP = 1;
+    public static final int TOUCH_DRAGGED = 2;
+
+    // A screen that never drains the queue must not grow it forever
+    private static final int MAX_PENDING = 128;
+
+    // Debug builds (log level DEBUG) or developer mode (see SettingsScreen):
+    // a three-finger tap toggles the performance HUD and a four-finger tap
+    // writes the trace buffer. Those fingers never reach the screen.
+    private static final int HUD_POINTER = 2;
+    private static final int TRACE_POINTER = 3;
+
+    /**
+     * One touch, in screen coordinates. timeNanos is when the platform
+     * delivered it (TimeUtils.nanoTime() clock), not when it was dispatched.
+     */
+    public static class TouchEvent implements Pool.Poolable {
+        public int type;
+        public int screenX;
+        public int screenY;
+        public int pointer;
+        public long timeNanos;
+
+        /**
+         * Convert to world coordinates of the given viewport
+         */
+        public Vector3 unproject(Viewport viewport, Vector3 out) {
+            return viewport.unproject(out.set(screenX, screenY, 0));
+        }
+
+        /**
+         * Seconds since the touch happened
+         */
+        public float getAge() {
+            return (TimeUtils.nanoTime() - timeNanos) / 1000000000f;
+        }
+
+        @Override
+        public void reset() {
+            type = TOUCH_DOWN;
+            screenX = 0;
+            screenY = 0;
+            pointer = 0;
+            timeNanos = 0;
+        }
+    }
+
+    /**
+     * Implemented by screens that consume touches
+     */
+    public interface TouchHandler {
+        void touch(TouchEvent event);
+    }
+
+    private final Pool<TouchEvent> pool = new Pool<TouchEvent>(16, MAX_PENDING) {
+        @Override
+        protected TouchEvent newObject() {
+            return new TouchEvent();
+        }
+    };
+
+    private Array<TouchEvent> pending = new Array<>(32);
+    private Array<TouchEvent> processing = new Array<>(32);
+    private boolean flushed = false;
+
+    // Statistics
+    private long received = 0;
+    private long dispatched = 0;
+    private long dropped = 0;
+    private long maxLatencyNanos = 0;
+
+    // Pointers taken by a debug gesture (bit per pointer) until they lift
+    private int gesturePointers = 0;
+    private boolean traceRequested = false;
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        if (pointer >= HUD_POINTER && pointer < 32 && isDebugGestureEnabled()) {
+            gesturePointers |= 1 << pointer;
+            if (pointer == TRACE_POINTER) traceRequested = true;
+            return true;
+        }
+        enqueue(TOUCH_DOWN, screenX, screenY, pointer);
+        return true;
+    }
+
+    @Override
+    public boolean keyDown(int keycode) {
+        if (keycode == Input.Keys.F3) {
+            PerfHud.getInstance().toggle();
+            return true;
+        }
+        if (keycode == Input.Keys.F4) {
+            TraceRecorder.getInstance().dump();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        if (isGesturePointer(pointer)) {
+            gesturePointers &= ~(1 << pointer);
+            // The gesture is decided when the third finger lifts
+            if (pointer == HUD_POINTER) {
+                if (traceRequested) {
+                    TraceRecorder.getInstance().dump();
+                } else {
+                    PerfHud.getInstance().toggle();
+                }
+                traceRequested = false;
+            }
+            return true;
+        }
+        enqueue(TOUCH_UP, screenX, screenY, pointer);
+        return true;
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        if (isGesturePointer(pointer)) return true;
+        enqueue(TOUCH_DRAGGED, screenX, screenY, pointer);
+        return true;
+    }
+
+    /**
+     * Platform time of the event being delivered. The backends queue
+     * touches and hand over a whole frame's worth at once, so the time of
+     * the call would only give dispatch order.
+     */
+    private static long eventTime() {
+        long time = Gdx.input.getCurrentEventTime();
+        return time != 0 ? time : TimeUtils.nanoTime();
+    }
+
+    private static boolean isDebugGestureEnabled() {
+        return Gdx.app.getLogLevel() == Application.LOG_DEBUG || GameProgress.getInstance().isDeveloperMode();
+    }
+
+    private boolean isGesturePointer(int pointer) {
+        return pointer < 32 && (gesturePointers & (1 << pointer)) != 0;
+    }
+
+    private void enqueue(int type, int screenX, int screenY, int pointer) {
+        if (pending.size >= MAX_PENDING) {
+            pool.free(pending.removeIndex(0));
+            dropped++;
+        }
+
+        TouchEvent event = pool.obtain();
+        event.type = type;
+        event.screenX = screenX;
+        event.screenY = screenY;
+        event.pointer = pointer;
+        event.timeNanos = eventTime();
+        pending.add(event);
+        received++;
+
+        // Make sure a frame comes to consume it
+        RenderScheduler.getInstance().requestRender();
+    }
+
+    /**
+     * Hand every pending event, oldest first, to the handler. Stops early
+     * if the handler changes screens (see clear()).
+     */
+    public void process(TouchHandler handler) {
+        if (pending.size == 0) return;
+
+        PerfHud hud = PerfHud.getInstance();
+        hud.begin(PerfHud.PHASE_INPUT);
+
+        Array<TouchEvent> events = pending;
+        pending = processing;
+        processing = events;
+        flushed = false;
+
+        for (int i = 0; i < events.size; i++) {
+            if (flushed) {
+                dropped += events.size - i;
+                break;
+            }
+            TouchEvent event = events.get(i);
+            maxLatencyNanos = Math.max(maxLatencyNanos, TimeUtils.nanoTime() - event.timeNanos);
+            dispatched++;
+            handler.touch(event);
+        }
+
+        pool.freeAll(events);
+        events.clear();
+        hud.end();
+    }
+
+    /**
+     * Drop everything not yet dispatched (called on screen changes)
+     */
+    public void clear() {
+        dropped += pending.size;
+        pool.freeAll(pending);
+        pending.clear();
+        flushed = true;
+    }
+
+    public int getPendingCount() {
+        return pending.size;
+    }
+
+    /**
+     * Get input statistics
+     */
+    public String getStats() {
+        return String.format("Input: %d received | %d dispatched | %d dropped | max latency %.1fms",
+                received, dispatched, dropped, maxLatencyNanos / 1000000f);
+    }
+}
@@ -0,0 +1,74 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Label Widget
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Aligned single-line text widget
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Text aligned inside the widget's width, with the baseline at the top
+ * of its bounds (the same convention as BitmapFont.draw).
+ */
+public class LabelWidget extends Widget {
+
+    private final HudText text;
+    private int align = Align.center;
+
+    public LabelWidget(BitmapFont font, float textScale, Color textColor) {
+        this.text = new HudText(font, textScale, textColor);
+    }
+
+    public LabelWidget setText(CharSequence value) {
+        text.setText(value);
+        return this;
+    }
+
+    /**
+     * Start a new value; call end() when done
+     */
+    public StringBuilder begin() {
+        return text.begin();
+    }
+
+    public void end() {
+        text.end();
+    }
+
+    public LabelWidget setColor(Color color) {
+        text.setColor(color);
+        return this;
+    }
+
+    public LabelWidget setAlign(int align) {
+        if (this.align != align) {
+            this.align = align;
+            invalidate();
+        }
+        return this;
+    }
+
+    /**
+     * Place the baseline at y, aligned within [x, x + width]
+     */
+    public LabelWidget setLine(float x, float y, float width) {
+        setBounds(x, y, width, 0);
+        return this;
+    }
+
+    @Override
+    protected void layout() {
+        text.setBounds(bounds.x, bounds.y + bounds.height, bounds.width, align);
+    }
+
+    @Override
+    protected void render(RenderQueue queue) {
+        queue.text(RenderQueue.LAYER_TEXT, text);
+    }
+}
@@ -2,28 +2,64 @@
  * GAME TITLE: Mastermind HD - Level Manager
  * AUTHOR: Dara Ouk
  * VERSION: 2.0
- * DESCRIPTION: Manages all 100 levels
+ * DESCRIPTION: Loads levels on demand from the level pack
  *********************************************************/
 
 package com.eklypze.android.mastermdhd.core;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.TimeUtils;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Manages all game levels and their configurations
+ * Manages all game levels and their configurations.
+ *
+ * Levels live in levels/levels.bin (see LevelPack, built from
+ * levels/levels.csv by LevelPackWriter). Only the header is read up
+ * front; levels are decoded a page at a time when first asked for, and
+ * at most MAX_PAGES pages stay in memory, so memory use does not grow
+ * with the size of the pack. While its page is cached, a level number
+ * always maps to the same Level instance.
  */
 public class LevelManager {
 
+    private static final String PACK_FILE = "levels/levels.bin";
+    private static final int PAGE_SIZE = 25;
+    private static final int MAX_PAGES = 4;
+
     private static LevelManager instance;
-    private final List<Level> levels;
+    private static final int SPAN_LOAD = TraceRecorder.name("LevelManager.loadPage");
+    private static final MetricsRegistry.Histogram PAGE_LOAD_TIME =
+            MetricsRegistry.getInstance().histogram("load." + PACK_FILE);
+
+    private final FileHandle pack;
+    private final int levelCount;
+
+    // Decoded pages by page index; pageOrder is least recently used first
+    private final IntMap<Level[]> pages = new IntMap<>();
+    private final IntArray pageOrder = new IntArray();
+
+    // Statistics
+    private int pageLoads = 0;
+    private int pageEvictions = 0;
 
     private LevelManager() {
-        levels = new ArrayList<>();
-        initializeLevels();
+        pack = Gdx.files.internal(PACK_FILE);
+        byte[] header = new byte[LevelPack.HEADER_SIZE];
+        readFully(0, header);
+        levelCount = LevelPack.decodeHeader(header);
+        Gdx.app.log("LevelManager", "Level pack has " + levelCount + " levels");
     }
 
-    public static LevelManager getInstance() {
+    // Synchronized: first created on a startup worker thread
+    public static synchronized LevelManager getInstance() {
         if (instance == null) {
             instance = new LevelManager();
         }
@@ -31,269 +67,98 @@ public class LevelManager {
     }
 
     /**
-     * Initialize all 100 levels with progressive difficulty
+     * Get a level by its number (1 to getTotalLevels())
      */
-    private void initializeLevels() {
-        // TUTORIAL LEVELS (1-5): Learn the basics
-        levels.add(new Level.Builder(1)
-                .name("First Steps")
-                .difficulty(Level.Difficulty.TUTORIAL)
-                .numColors(3)
-                .codeLength(3)
-                .maxTurns(10)
-                .hints(5)
-                .threeStars(4).twoStars(6)
-                .build());
-
-        levels.add(new Level.Builder(2)
-                .name("Getting Warmer")
-                .difficulty(Level.Difficulty.TUTORIAL)
-                .numColors(4)
-                .codeLength(3)
-                .maxTurns(10)
-                .hints(4)
-                .threeStars(5).twoStars(7)
-                .build());
-
-        levels.add(new Level.Builder(3)
-                .name("Four Is More")
-                .difficulty(Level.Difficulty.TUTORIAL)
-                .numColors(4)
-                .codeLength(4)
-                .maxTurns(10)
-                .hints(3)
-                .threeStars(5).twoStars(7)
-                .build());
-
-        levels.add(new Level.Builder(4)
-                .name("Color Burst")
-                .difficulty(Level.Difficulty.TUTORIAL)
-                .numColors(5)
-                .codeLength(4)
-                .maxTurns(10)
-                .hints(3)
-                .threeStars(6).twoStars(8)
-                .build());
-
-        levels.add(new Level.Builder(5)
-                .name("Tutorial Complete")
-                .difficulty(Level.Difficulty.TUTORIAL)
-                .numColors(6)
-                .codeLength(4)
-                .maxTurns(10)
-                .hints(2)
-                .threeStars(6).twoStars(8)
-                .build());
-
-        // EASY LEVELS (6-25): Build confidence
-        for (int i = 6; i <= 25; i++) {
-            levels.add(new Level.Builder(i)
-                    .name("Easy " + (i - 5))
-                    .difficulty(Level.Difficulty.EASY)
-                    .numColors(4 + (i % 3))  // 4-6 colors
-                    .codeLength(4)
-                    .maxTurns(10)
-                    .hints(2)
-                    .threeStars(5).twoStars(7)
-                    .build());
+    public Level getLevel(int levelNumber) {
+        if (levelNumber < 1 || levelNumber > levelCount) {
+            throw new IllegalArgumentException("Level number must be between 1 and " + levelCount);
         }
 
-        // MEDIUM LEVELS (26-50): Introduce duplicates and more colors
-        for (int i = 26; i <= 50; i++) {
-            boolean useDuplicates = i % 2 == 0;
-            levels.add(new Level.Builder(i)
-                    .name("Medium " + (i - 25))
-                    .difficulty(Level.Difficulty.MEDIUM)
-                    .numColors(5 + (i % 4))  // 5-8 colors
-                    .codeLength(4)
-                    .maxTurns(10)
-                    .allowDuplicates(useDuplicates)
-                    .hints(useDuplicates ? 2 : 1)
-                    .threeStars(6).twoStars(8)
-                    .build());
+        int index = levelNumber - 1;
+        int page = index / PAGE_SIZE;
+        Level[] levels = pages.get(page);
+        if (levels == null) {
+            levels = loadPage(page);
+        } else {
+            // Most recently used goes to the end
+            pageOrder.removeValue(page);
+            pageOrder.add(page);
         }
+        return levels[index % PAGE_SIZE];
+    }
 
-        // HARD LEVELS (51-75): Longer codes and time pressure
-        for (int i = 51; i <= 75; i++) {
-            boolean isTimed = i % 5 == 0;
-            int codeLen = 4 + (i % 2);  // 4 or 5 length codes
-            levels.add(new Level.Builder(i)
-                    .name("Hard " + (i - 50))
-                    .difficulty(Level.Difficulty.HARD)
-                    .numColors(6 + (i % 3))  // 6-8 colors
-                    .codeLength(codeLen)
-                    .maxTurns(codeLen == 5 ? 12 : 10)
-                    .allowDuplicates(true)
-                    .hints(1)
-                    .timed(isTimed)
-                    .timeLimit(isTimed ? 180 : 0)  // 3 minutes
-                    .threeStars(codeLen == 5 ? 7 : 6).twoStars(codeLen == 5 ? 9 : 8)
-                    .build());
-        }
+    /**
+     * Decode one page of levels, evicting the least recently used page if needed
+     */
+    private Level[] loadPage(int page) {
+        long start = TimeUtils.nanoTime();
+        int first = page * PAGE_SIZE;
+        int count = Math.min(PAGE_SIZE, levelCount - first);
 
-        // EXPERT LEVELS (76-90): Maximum difficulty
-        for (int i = 76; i <= 90; i++) {
-            boolean isTimed = i % 3 == 0;
-            int codeLen = 4 + ((i - 75) / 5);  // Gradually increase to 6
-            if (codeLen > 6) codeLen = 6;
+        byte[] records = new byte[count * LevelPack.RECORD_SIZE];
+        readFully(LevelPack.HEADER_SIZE + (long) first * LevelPack.RECORD_SIZE, records);
 
-            levels.add(new Level.Builder(i)
-                    .name("Expert " + (i - 75))
-                    .difficulty(Level.Difficulty.EXPERT)
-                    .numColors(8)
-                    .codeLength(codeLen)
-                    .maxTurns(codeLen + 8)  // More turns for longer codes
-                    .allowDuplicates(true)
-                    .hints(codeLen >= 5 ? 1 : 0)
-                    .timed(isTimed)
-                    .timeLimit(isTimed ? 240 : 0)  // 4 minutes
-                    .threeStars(7).twoStars(10)
-                    .build());
+        Level[] levels = new Level[count];
+        for (int i = 0; i < count; i++) {
+            levels[i] = LevelPack.decode(records, i * LevelPack.RECORD_SIZE, first + i + 1);
         }
 
-        // MASTER LEVELS (91-100): Ultimate challenges
-        levels.add(new Level.Builder(91)
-                .name("Master: Speed Run")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(4)
-                .maxTurns(8)
-                .allowDuplicates(true)
-                .hints(0)
-                .timed(true)
-                .timeLimit(120)  // 2 minutes
-                .threeStars(5).twoStars(6)
-                .build());
-
-        levels.add(new Level.Builder(92)
-                .name("Master: Long Code")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(6)
-                .maxTurns(15)
-                .allowDuplicates(true)
-                .hints(1)
-                .threeStars(9).twoStars(12)
-                .build());
-
-        levels.add(new Level.Builder(93)
-                .name("Master: No Hints")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(5)
-                .maxTurns(12)
-                .allowDuplicates(true)
-                .hints(0)
-                .threeStars(7).twoStars(10)
-                .build());
-
-        levels.add(new Level.Builder(94)
-                .name("Master: Time Trial")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(7)
-                .codeLength(4)
-                .maxTurns(10)
-                .allowDuplicates(true)
-                .hints(0)
-                .timed(true)
-                .timeLimit(90)  // 90 seconds
-                .threeStars(5).twoStars(7)
-                .build());
-
-        levels.add(new Level.Builder(95)
-                .name("Master: Rainbow")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(5)
-                .maxTurns(10)
-                .allowDuplicates(false)  // No duplicates makes it harder
-                .hints(0)
-                .threeStars(6).twoStars(8)
-                .build());
-
-        levels.add(new Level.Builder(96)
-                .name("Master: Precision")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(5)
-                .maxTurns(8)  // Very few attempts
-                .allowDuplicates(true)
-                .hints(1)
-                .threeStars(5).twoStars(6)
-                .build());
-
-        levels.add(new Level.Builder(97)
-                .name("Master: Marathon")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(6)
-                .maxTurns(20)
-                .allowDuplicates(true)
-                .hints(2)
-                .timed(true)
-                .timeLimit(300)  // 5 minutes
-                .threeStars(10).twoStars(15)
-                .build());
-
-        levels.add(new Level.Builder(98)
-                .name("Master: Ultimate")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(6)
-                .maxTurns(12)
-                .allowDuplicates(true)
-                .hints(0)
-                .threeStars(8).twoStars(10)
-                .build());
-
-        levels.add(new Level.Builder(99)
-                .name("Master: Gauntlet")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(5)
-                .maxTurns(10)
-                .allowDuplicates(true)
-                .hints(0)
-                .timed(true)
-                .timeLimit(150)  // 2.5 minutes
-                .threeStars(6).twoStars(8)
-                .build());
-
-        levels.add(new Level.Builder(100)
-                .name("MASTERMIND")
-                .difficulty(Level.Difficulty.MASTER)
-                .numColors(8)
-                .codeLength(6)
-                .maxTurns(10)
-                .allowDuplicates(true)
-                .hints(0)
-                .timed(true)
-                .timeLimit(180)  // 3 minutes
-                .threeStars(6).twoStars(8)
-                .build());
+        if (pageOrder.size >= MAX_PAGES) {
+            pages.remove(pageOrder.removeIndex(0));
+            pageEvictions++;
+        }
+        pages.put(page, levels);
+        pageOrder.add(page);
+        pageLoads++;
+        PAGE_LOAD_TIME.recordSince(start);
+        TraceRecorder.getInstance().end(SPAN_LOAD, start);
+        return levels;
     }
 
     /**
-     * Get a level by its number (1-100)
+     * Read bytes from the pack starting at offset
      */
-    public Level getLevel(int levelNumber) {
-        if (levelNumber < 1 || levelNumber > 100) {
-            throw new IllegalArgumentException("Level number must be between 1 and 100");
+    private void readFully(long offset, byte[] out) {
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(pack.read());
+            long skipped = 0;
+            while (skipped < offset) {
+                long step = in.skip(offset - skipped);
+                if (step <= 0) throw new IOException("Level pack is truncated");
+                skipped += step;
+            }
+            in.readFully(out);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + PACK_FILE, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
         }
-        return levels.get(levelNumber - 1);
     }
 
     /**
-     * Get all levels
+     * Get all levels (decodes the whole pack; prefer getLevel)
      */
     public List<Level> getAllLevels() {
-        return new ArrayList<>(levels);
+        List<Level> levels = new ArrayList<>(levelCount);
+        for (int i = 1; i <= levelCount; i++) {
+            levels.add(getLevel(i));
+        }
+        return levels;
     }
 
     /**
      * Get total number of levels
      */
     public int getTotalLevels() {
-        return levels.size();
+        return levelCount;
+    }
+
+    /**
+     * Get pack statistics
+     */
+    public String getStats() {
+        return String.format("Levels: %d | %d/%d pages cached | %d loads | %d evictions",
+                levelCount, pages.size, MAX_PAGES, pageLoads, pageEvictions);
     }
 }
@@ -0,0 +1,133 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Level Pack
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Binary level pack format
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of levels/levels.bin, shared by LevelManager (reader) and
+ * LevelPackWriter. All numbers are big-endian.
+ *
+ *   header  magic "MMLV", int version, int level count
+ *   records one fixed-size record per level, level 1 first
+ *
+ * Records have a fixed size so any range of levels can be read with one
+ * seek, without parsing the levels before it. A record is:
+ *
+ *   byte colors, byte code length, byte max turns, byte hints,
+ *   byte three-star moves, byte two-star moves, byte difficulty,
+ *   byte flags (1 = duplicates, 2 = timed), short time limit,
+ *   byte name length, name bytes (UTF-8, zero padded)
+ */
+public final class LevelPack {
+
+    public static final int MAGIC = 0x4D4D4C56; // "MMLV"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 12;
+    public static final int RECORD_SIZE = 32;
+    public static final int MAX_NAME_BYTES = RECORD_SIZE - 11;
+
+    private static final int FLAG_DUPLICATES = 1;
+    private static final int FLAG_TIMED = 2;
+
+    private LevelPack() {
+    }
+
+    /**
+     * Write the header for a pack of count levels
+     */
+    public static void encodeHeader(int count, byte[] out) {
+        putInt(out, 0, MAGIC);
+        putInt(out, 4, VERSION);
+        putInt(out, 8, count);
+    }
+
+    /**
+     * Level count from a header; throws if it is not a level pack this build can read
+     */
+    public static int decodeHeader(byte[] in) {
+        if (getInt(in, 0) != MAGIC) {
+            throw new IllegalStateException("Not a level pack");
+        }
+        int version = getInt(in, 4);
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported level pack version: " + version);
+        }
+        return getInt(in, 8);
+    }
+
+    /**
+     * Write one level record at offset
+     */
+    public static void encode(Level level, byte[] out, int offset) {
+        byte[] name = level.getName().getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Level " + level.getLevelNumber()
+                    + " name is longer than " + MAX_NAME_BYTES + " bytes: " + level.getName());
+        }
+
+        out[offset] = toByte(level.getNumColors());
+        out[offset + 1] = toByte(level.getCodeLength());
+        out[offset + 2] = toByte(level.getMaxTurns());
+        out[offset + 3] = toByte(level.getHintsAvailable());
+        out[offset + 4] = toByte(level.getThreeStarMoves());
+        out[offset + 5] = toByte(level.getTwoStarMoves());
+        out[offset + 6] = (byte) level.getDifficulty().ordinal();
+        out[offset + 7] = (byte) ((level.allowsDuplicates() ? FLAG_DUPLICATES : 0) | (level.isTimed() ? FLAG_TIMED : 0));
+        if (level.getTimeLimit() < 0 || level.getTimeLimit() > 0xFFFF) {
+            throw new IllegalArgumentException("Level " + level.getLevelNumber() + " time limit out of range");
+        }
+        out[offset + 8] = (byte) (level.getTimeLimit() >> 8);
+        out[offset + 9] = (byte) level.getTimeLimit();
+        out[offset + 10] = (byte) name.length;
+        System.arraycopy(name, 0, out, offset + 11, name.length);
+    }
+
+    /**
+     * Read the record at offset as the given level number
+     */
+    public static Level decode(byte[] in, int offset, int levelNumber) {
+        Level.Difficulty[] difficulties = Level.Difficulty.values();
+        int difficulty = in[offset + 6] & 0xFF;
+        int flags = in[offset + 7];
+        int nameLength = Math.min(in[offset + 10] & 0xFF, MAX_NAME_BYTES);
+
+        return new Level.Builder(levelNumber)
+                .numColors(in[offset] & 0xFF)
+                .codeLength(in[offset + 1] & 0xFF)
+                .maxTurns(in[offset + 2] & 0xFF)
+                .hints(in[offset + 3] & 0xFF)
+                .threeStars(in[offset + 4] & 0xFF)
+                .twoStars(in[offset + 5] & 0xFF)
+                .difficulty(difficulties[Math.min(difficulty, difficulties.length - 1)])
+                .allowDuplicates((flags & FLAG_DUPLICATES) != 0)
+                .timed((flags & FLAG_TIMED) != 0)
+                .timeLimit(((in[offset + 8] & 0xFF) << 8) | (in[offset + 9] & 0xFF))
+                .name(new String(in, offset + 11, nameLength, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static byte toByte(int value) {
+        if (value < 0 || value > 0xFF) {
+            throw new IllegalArgumentException("Value does not fit in a level record: " + value);
+        }
+        return (byte) value;
+    }
+
+    private static void putInt(byte[] out, int offset, int value) {
+        out[offset] = (byte) (value >> 24);
+        out[offset + 1] = (byte) (value >> 16);
+        out[offset + 2] = (byte) (value >> 8);
+        out[offset + 3] = (byte) value;
+    }
+
+    private static int getInt(byte[] in, int offset) {
+        return ((in[offset] & 0xFF) << 24) | ((in[offset + 1] & 0xFF) << 16)
+                | ((in[offset + 2] & 0xFF) << 8) | (in[offset + 3] & 0xFF);
+    }
+}
@@ -2,7 +2,7 @@
  * GAME TITLE: Mastermind HD - Level Selection
  * AUTHOR: Dara Ouk
  * VERSION: 2.0
- * DESCRIPTION: Grid of 100 levels to choose from
+ * DESCRIPTION: Grid of levels to choose from
  *********************************************************/
 
 package com.eklypze.android.mastermdhd.core;
@@ -16,16 +16,18 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import java.util.Arrays;
 
 /**
- * Level selection screen with scrollable grid
+ * Level selection screen with scrollable grid. Only the rows on screen
+ * are drawn or even looked at: their colours and labels are cached in a
+ * few row slots, rebuilt when a row scrolls in or GameProgress reports a
+ * change, so memory and level decoding do not grow with the pack size.
  */
-public class LevelSelectScreen implements Screen {
+public class LevelSelectScreen implements Screen, RenderScheduler.Animated, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
     private OrthographicCamera camera;
@@ -34,9 +36,9 @@ public class LevelSelectScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
     private BitmapFont smallFont;
-    private ShapeRenderer shapeRenderer;
     private GlyphLayout layout;
 
     private LevelManager levelManager;
@@ -44,19 +46,72 @@ public class LevelSelectScreen implements Screen {
 
     // Grid configuration
     private static final int COLUMNS = 5;
-    private static final int ROWS = 20;  // 100 levels / 5 columns
     private static final float LEVEL_SIZE = 70;
     private static final float LEVEL_SPACING = 10;
     private static final float START_X = 40;
     private static final float START_Y_OFFSET = 100;  // From top
 
-    private Rectangle[] levelButtons;
-    private Rectangle backButton;
+    // Button colors by status
+    private static final Color LOCKED_COLOR = new Color(0.3f, 0.3f, 0.3f, 1f);
+    private static final Color GOLD_COLOR = new Color(1f, 0.84f, 0f, 1f);
+    private static final Color SILVER_COLOR = new Color(0.75f, 0.75f, 0.75f, 1f);
+    private static final Color BRONZE_COLOR = new Color(0.8f, 0.5f, 0.2f, 1f);
+
+    // Unlocked-but-unplayed colors, indexed by Level.Difficulty ordinal
+    private static final Color[] DIFFICULTY_COLORS = {
+            new Color(0.5f, 0.8f, 0.5f, 1f),  // TUTORIAL - Light green
+            new Color(0.2f, 0.7f, 0.2f, 1f),  // EASY - Green
+            new Color(0.2f, 0.5f, 0.8f, 1f),  // MEDIUM - Blue
+            new Color(0.8f, 0.5f, 0.2f, 1f),  // HARD - Orange
+            new Color(0.7f, 0.2f, 0.7f, 1f),  // EXPERT - Purple
+            new Color(0.7f, 0.2f, 0.2f, 1f)   // MASTER - Red
+    };
+    private static final Color ENDLESS_COLOR = new Color(0.6f, 0.2f, 0.7f, 1f);
+
+    private final WidgetGroup ui = new WidgetGroup();
+
+    // Grid size follows the level pack, plus one tile for endless mode after the last level
+    private final int levelCount;
+    private final int rows;
+    private boolean endlessUnlocked = false;
+    private String endlessLabel;
+    private float endlessLabelOffset;
+    private int cachedRevision = -1;
+
+    // Scrolling: positive scrollY moves the grid up to reveal later rows
+    private static final float ROW_PITCH = LEVEL_SIZE + LEVEL_SPACING;
+    private static final float VISIBLE_BOTTOM = 50;
+
+    // Visual state of the rows on screen: row r lives in slot r % SLOT_ROWS,
+    // which is enough slots for every row that can be visible at once
+    private static final int SLOT_ROWS = (int) Math.ceil(MastermindHDGame.GAME_HEIGHT / ROW_PITCH) + 2;
+    private final int[] slotRow = new int[SLOT_ROWS];
+    private final int[] slotRevision = new int[SLOT_ROWS];
+    private final Color[] tileColors = new Color[SLOT_ROWS * COLUMNS];
+    private final String[] tileLabels = new String[SLOT_ROWS * COLUMNS];
+    private final float[] tileLabelOffsets = new float[SLOT_ROWS * COLUMNS];
+    private final String[] tileStars = new String[SLOT_ROWS * COLUMNS];
+    private final float[] tileStarOffsets = new float[SLOT_ROWS * COLUMNS];
+
+    private static final float TAP_SLOP = 12f;
+    private static final float FLING_FRICTION = 4f;      // velocity decay per second
+    private static final float FLING_MIN_VELOCITY = 20f; // px/s below which a fling stops
+    private static final float FLING_MAX_VELOCITY = 4000f;
+    private static final float MIN_SAMPLE_SECONDS = 0.001f; // shorter steps are folded into the next
+    private static final float VELOCITY_SMOOTHING = 0.3f;
 
     private float scrollY = 0;
     private float maxScroll;
     private float lastTouchY = 0;
+    // Position and time of the last velocity sample
+    private float lastSampleY = 0;
+    private long lastTouchTime = 0;
+    private float dragDistance = 0;
+    private float velocity = 0;
     private boolean isDragging = false;
+    // Only the finger that started the drag moves or ends it
+    private int dragPointer = -1;
+    private boolean touchStoppedFling = false;
     private SoundManager soundManager;
 
     public LevelSelectScreen(MastermindHDGame game) {
@@ -65,50 +120,133 @@ public class LevelSelectScreen implements Screen {
         this.progress = GameProgress.getInstance();
         this.soundManager = SoundManager.getInstance();
 
+        levelCount = levelManager.getTotalLevels();
+        rows = (levelCount + 1 + COLUMNS - 1) / COLUMNS;
+        Arrays.fill(slotRow, -1);
+
         camera = new OrthographicCamera();
         viewport = new FitViewport(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT, camera);
         camera.position.set(MastermindHDGame.GAME_WIDTH / 2f, MastermindHDGame.GAME_HEIGHT / 2f, 0);
         touchPoint = new Vector3();
 
         // Load assets
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.5f);
+        font = fonts.newFont(Color.WHITE);
+        fonts.setScale(font, 1.5f);
 
-        smallFont = new BitmapFont();
-        smallFont.setColor(Color.YELLOW);
-        smallFont.getData().setScale(1.0f);
+        smallFont = fonts.newFont(Color.YELLOW);
+        fonts.setScale(smallFont, 1.0f);
 
-        shapeRenderer = new ShapeRenderer();
         layout = new GlyphLayout();
 
-        // Create level buttons
-        levelButtons = new Rectangle[100];
-        for (int i = 0; i < 100; i++) {
-            int row = i / COLUMNS;
-            int col = i % COLUMNS;
-
-            float x = START_X + col * (LEVEL_SIZE + LEVEL_SPACING);
-            float y = MastermindHDGame.GAME_HEIGHT - START_Y_OFFSET - row * (LEVEL_SIZE + LEVEL_SPACING);
-
-            levelButtons[i] = new Rectangle(x, y, LEVEL_SIZE, LEVEL_SIZE);
-        }
-
         // Calculate max scroll
-        maxScroll = Math.max(0, ROWS * (LEVEL_SIZE + LEVEL_SPACING) - (MastermindHDGame.GAME_HEIGHT - 200));
+        maxScroll = Math.max(0, rows * ROW_PITCH - (MastermindHDGame.GAME_HEIGHT - 200));
+
+        // Title and back button
+        ui.add(new LabelWidget(font, 2.5f, Color.WHITE)).setText("SELECT LEVEL")
+                .setLine(0, MastermindHDGame.GAME_HEIGHT - 20, MastermindHDGame.GAME_WIDTH);
+
+        ui.add(new ButtonWidget(font, 1.5f, Color.WHITE)).setText("BACK").setColor(0.7f, 0.2f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showMainMenu();
+                })
+                .setBounds(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
+    }
 
-        // Back button
-        backButton = new Rectangle(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
+    /**
+     * Unscrolled Y of a grid row
+     */
+    private static float rowY(int row) {
+        return MastermindHDGame.GAME_HEIGHT - START_Y_OFFSET - row * ROW_PITCH;
+    }
+
+    private static float columnX(int col) {
+        return START_X + col * ROW_PITCH;
     }
 
     @Override
     public void show() {
         Gdx.app.log("LevelSelect", "Level selection shown");
+        velocity = 0;
+        isDragging = false;
+        refreshTiles();
+    }
+
+    /**
+     * Rebuild the endless tile if progress changed
+     */
+    private void refreshTiles() {
+        if (cachedRevision == progress.getRevision()) return;
+        cachedRevision = progress.getRevision();
+
+        // Endless tile: current stage, once the last level is completed
+        endlessUnlocked = EndlessMode.getInstance().isUnlocked();
+        if (endlessUnlocked) {
+            endlessLabel = "E" + progress.getEndlessStage();
+            fonts.setScale(font, 2.0f);
+            layout.setText(font, endlessLabel);
+            endlessLabelOffset = (LEVEL_SIZE - layout.width) / 2;
+            fonts.setScale(font, 1.5f);
+        }
+    }
+
+    /**
+     * Rebuild colours, labels and text offsets of a row unless its slot is current
+     */
+    private void refreshRow(int row) {
+        int slot = row % SLOT_ROWS;
+        int revision = progress.getRevision();
+        if (slotRow[slot] == row && slotRevision[slot] == revision) return;
+        slotRow[slot] = row;
+        slotRevision[slot] = revision;
+
+        for (int col = 0; col < COLUMNS; col++) {
+            int number = row * COLUMNS + col + 1;
+            if (number > levelCount) break;
+            int i = slot * COLUMNS + col;
+
+            boolean unlocked = progress.isLevelUnlocked(number);
+            boolean completed = progress.isLevelCompleted(number);
+            int stars = progress.getLevelStars(number);
+
+            // Choose color based on difficulty and status
+            if (!unlocked) {
+                tileColors[i] = LOCKED_COLOR;  // Locked - gray
+            } else if (completed) {
+                // Completed - different colors for star ratings
+                if (stars == 3) {
+                    tileColors[i] = GOLD_COLOR;  // Gold - 3 stars
+                } else if (stars == 2) {
+                    tileColors[i] = SILVER_COLOR;  // Silver - 2 stars
+                } else {
+                    tileColors[i] = BRONZE_COLOR;  // Bronze - 1 star
+                }
+            } else {
+                // Unlocked but not completed - color by difficulty (the only tiles that decode their level)
+                Level level = levelManager.getLevel(number);
+                tileColors[i] = DIFFICULTY_COLORS[level.getDifficulty().ordinal()];
+            }
+
+            // Level number
+            tileLabels[i] = unlocked ? String.valueOf(number) : "🔒";
+            fonts.setScale(font, 2.0f);
+            layout.setText(font, tileLabels[i]);
+            tileLabelOffsets[i] = (LEVEL_SIZE - layout.width) / 2;
+
+            // Stars
+            tileStars[i] = stars > 0 ? HudText.stars(stars) : null;
+            if (stars > 0) {
+                fonts.setScale(smallFont, 1.2f);
+                layout.setText(smallFont, tileStars[i]);
+                tileStarOffsets[i] = (LEVEL_SIZE - layout.width) / 2;
+            }
+        }
+        fonts.setScale(font, 1.5f);
     }
 
     @Override
@@ -122,183 +260,185 @@ public class LevelSelectScreen implements Screen {
 
         // Handle input
         handleInput();
+        updateFling(delta);
+        refreshTiles();
+
+        RenderQueue queue = game.renderQueue;
 
         // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
+        queue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
 
         // Draw title and back button
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(backButton.x, backButton.y, backButton.width, backButton.height);
-        shapeRenderer.end();
-
-        game.batch.begin();
-        layout.setText(font, "BACK");
-        font.draw(game.batch, "BACK", backButton.x + (backButton.width - layout.width) / 2,
-                backButton.y + (backButton.height + layout.height) / 2);
-
-        // Title
-        font.getData().setScale(2.5f);
-        layout.setText(font, "SELECT LEVEL");
-        font.draw(game.batch, "SELECT LEVEL", (MastermindHDGame.GAME_WIDTH - layout.width) / 2,
-                MastermindHDGame.GAME_HEIGHT - 20);
-        font.getData().setScale(1.5f);
-        game.batch.end();
-
-        // Draw level buttons
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        for (int i = 0; i < 100; i++) {
-            Rectangle btn = levelButtons[i];
-            float adjustedY = btn.y + scrollY;
-
-            // Only draw if visible
-            if (adjustedY + LEVEL_SIZE < 50 || adjustedY > MastermindHDGame.GAME_HEIGHT) {
-                continue;
-            }
+        ui.draw(queue);
+
+        // Only the rows on screen: the cost per frame does not depend on the level count
+        int firstRow = Math.max(0, (int) Math.ceil((rowY(0) + scrollY - MastermindHDGame.GAME_HEIGHT) / ROW_PITCH));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((rowY(0) + scrollY + LEVEL_SIZE - VISIBLE_BOTTOM) / ROW_PITCH));
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            refreshRow(row);
+            float adjustedY = rowY(row) + scrollY;
+            int slot = row % SLOT_ROWS;
+
+            for (int col = 0; col < COLUMNS; col++) {
+                int index = row * COLUMNS + col;
+                float x = columnX(col);
+                if (index >= levelCount) {
+                    if (index == levelCount && endlessUnlocked) drawEndlessTile(queue, x, adjustedY);
+                    break;
+                }
+                int i = slot * COLUMNS + col;
 
-            Level level = levelManager.getLevel(i + 1);
-            boolean unlocked = progress.isLevelUnlocked(i + 1);
-            boolean completed = progress.isLevelCompleted(i + 1);
-            int stars = progress.getLevelStars(i + 1);
+                queue.rect(RenderQueue.LAYER_UI, x, adjustedY, LEVEL_SIZE, LEVEL_SIZE, tileColors[i]);
 
-            // Choose color based on difficulty and status
-            if (!unlocked) {
-                shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1f);  // Locked - gray
-            } else if (completed) {
-                // Completed - different colors for star ratings
-                if (stars == 3) {
-                    shapeRenderer.setColor(1f, 0.84f, 0f, 1f);  // Gold - 3 stars
-                } else if (stars == 2) {
-                    shapeRenderer.setColor(0.75f, 0.75f, 0.75f, 1f);  // Silver - 2 stars
-                } else {
-                    shapeRenderer.setColor(0.8f, 0.5f, 0.2f, 1f);  // Bronze - 1 star
-                }
-            } else {
-                // Unlocked but not completed - color by difficulty
-                switch (level.getDifficulty()) {
-                    case TUTORIAL:
-                        shapeRenderer.setColor(0.5f, 0.8f, 0.5f, 1f);  // Light green
-                        break;
-                    case EASY:
-                        shapeRenderer.setColor(0.2f, 0.7f, 0.2f, 1f);  // Green
-                        break;
-                    case MEDIUM:
-                        shapeRenderer.setColor(0.2f, 0.5f, 0.8f, 1f);  // Blue
-                        break;
-                    case HARD:
-                        shapeRenderer.setColor(0.8f, 0.5f, 0.2f, 1f);  // Orange
-                        break;
-                    case EXPERT:
-                        shapeRenderer.setColor(0.7f, 0.2f, 0.7f, 1f);  // Purple
-                        break;
-                    case MASTER:
-                        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);  // Red
-                        break;
+                // Level number
+                fonts.setScale(font, 2.0f);
+                queue.text(RenderQueue.LAYER_TEXT, font, tileLabels[i],
+                        x + tileLabelOffsets[i], adjustedY + LEVEL_SIZE / 2 + 15);
+
+                // Stars
+                if (tileStars[i] != null) {
+                    fonts.setScale(smallFont, 1.2f);
+                    queue.text(RenderQueue.LAYER_TEXT, smallFont, tileStars[i],
+                            x + tileStarOffsets[i], adjustedY + 15);
                 }
             }
-
-            shapeRenderer.rect(btn.x, adjustedY, btn.width, btn.height);
         }
+        fonts.setScale(font, 1.5f);
 
-        shapeRenderer.end();
-
-        // Draw level numbers and stars
-        game.batch.begin();
-        for (int i = 0; i < 100; i++) {
-            Rectangle btn = levelButtons[i];
-            float adjustedY = btn.y + scrollY;
+        queue.flush(game.batch);
+    }
 
-            // Only draw if visible
-            if (adjustedY + LEVEL_SIZE < 50 || adjustedY > MastermindHDGame.GAME_HEIGHT) {
-                continue;
-            }
+    private void drawEndlessTile(RenderQueue queue, float x, float adjustedY) {
+        queue.rect(RenderQueue.LAYER_UI, x, adjustedY, LEVEL_SIZE, LEVEL_SIZE, ENDLESS_COLOR);
+        fonts.setScale(font, 2.0f);
+        queue.text(RenderQueue.LAYER_TEXT, font, endlessLabel, x + endlessLabelOffset, adjustedY + LEVEL_SIZE / 2 + 15);
+    }
 
-            boolean unlocked = progress.isLevelUnlocked(i + 1);
-            int stars = progress.getLevelStars(i + 1);
+    /**
+     * Coast after a fling, slowing down exponentially and stopping at the ends
+     */
+    private void updateFling(float delta) {
+        if (isDragging || velocity == 0) return;
 
-            // Level number
-            font.getData().setScale(2.0f);
-            String levelText = unlocked ? String.valueOf(i + 1) : "🔒";
-            layout.setText(font, levelText);
-            font.draw(game.batch, levelText,
-                    btn.x + (btn.width - layout.width) / 2,
-                    adjustedY + btn.height / 2 + 15);
+        scrollY += velocity * delta;
+        velocity *= Math.max(0, 1 - FLING_FRICTION * delta);
 
-            // Stars
-            if (stars > 0) {
-                smallFont.getData().setScale(1.2f);
-                String starText = "";
-                for (int s = 0; s < stars; s++) {
-                    starText += "⭐";
-                }
-                layout.setText(smallFont, starText);
-                smallFont.draw(game.batch, starText,
-                        btn.x + (btn.width - layout.width) / 2,
-                        adjustedY + 15);
-            }
+        if (scrollY <= 0 || scrollY >= maxScroll) {
+            scrollY = Math.max(0, Math.min(maxScroll, scrollY));
+            velocity = 0;
+        }
+        if (Math.abs(velocity) < FLING_MIN_VELOCITY) {
+            velocity = 0;
         }
-        game.batch.end();
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return velocity != 0;
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-            lastTouchY = touchPoint.y;
-            isDragging = true;
-
-            // Check back button
-            if (backButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new MainMenuScreen(game));
-                return;
-            }
+        game.input.process(this);
+    }
+
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        event.unproject(viewport, touchPoint);
+
+        switch (event.type) {
+            case InputQueue.TOUCH_DOWN:
+                // Other fingers are ignored while one is down
+                if (isDragging) return;
 
-            // Check level buttons
-            for (int i = 0; i < 100; i++) {
-                Rectangle btn = levelButtons[i];
-                float adjustedY = btn.y + scrollY;
-
-                if (touchPoint.x >= btn.x && touchPoint.x <= btn.x + btn.width &&
-                        touchPoint.y >= adjustedY && touchPoint.y <= adjustedY + btn.height) {
-
-                    if (progress.isLevelUnlocked(i + 1)) {
-                        soundManager.playSelect();
-                        soundManager.playWhoosh();
-                        // Start the level
-                        Level level = levelManager.getLevel(i + 1);
-                        game.setScreen(new EnhancedGameScreen(game, level));
-                        return;
-                    } else {
-                        soundManager.playWrong();
-                    }
+                // Check back button
+                if (ui.touch(touchPoint.x, touchPoint.y)) {
+                    return;
                 }
-            }
-        }
 
-        // Handle scrolling
-        if (Gdx.input.isTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
+                // A touch during a fling only stops it
+                touchStoppedFling = Math.abs(velocity) > FLING_MIN_VELOCITY * 5;
+                velocity = 0;
+                isDragging = true;
+                dragPointer = event.pointer;
+                dragDistance = 0;
+                lastTouchY = touchPoint.y;
+                lastSampleY = touchPoint.y;
+                lastTouchTime = event.timeNanos;
+                break;
 
-            if (isDragging) {
-                float deltaY = touchPoint.y - lastTouchY;
-                scrollY += deltaY;
+            case InputQueue.TOUCH_DRAGGED:
+                if (!isDragging || event.pointer != dragPointer) return;
 
-                // Clamp scroll
-                scrollY = Math.max(-maxScroll, Math.min(0, scrollY));
+                float deltaY = touchPoint.y - lastTouchY;
+                scrollY = Math.max(0, Math.min(maxScroll, scrollY + deltaY));
+                dragDistance += Math.abs(deltaY);
+
+                // Velocity from event timestamps, so it does not depend on the frame rate
+                float dt = (event.timeNanos - lastTouchTime) / 1000000000f;
+                if (dt >= MIN_SAMPLE_SECONDS) {
+                    float sample = (touchPoint.y - lastSampleY) / dt;
+                    velocity += (sample - velocity) * VELOCITY_SMOOTHING;
+                    velocity = Math.max(-FLING_MAX_VELOCITY, Math.min(FLING_MAX_VELOCITY, velocity));
+                    lastSampleY = touchPoint.y;
+                    lastTouchTime = event.timeNanos;
+                }
 
                 lastTouchY = touchPoint.y;
-            }
+                break;
+
+            case InputQueue.TOUCH_UP:
+                if (!isDragging || event.pointer != dragPointer) return;
+                isDragging = false;
+
+                // A finger that rested before lifting does not fling
+                if ((event.timeNanos - lastTouchTime) / 1000000000f > 0.1f) {
+                    velocity = 0;
+                }
+
+                if (dragDistance < TAP_SLOP && !touchStoppedFling) {
+                    velocity = 0;
+                    selectLevelAt(touchPoint.x, touchPoint.y);
+                }
+                break;
+        }
+    }
+
+    private void selectLevelAt(float x, float y) {
+        int index = tileAt(x, y - scrollY);
+        if (index < 0) return;
+
+        if (index == levelCount) {
+            if (!endlessUnlocked) return;
+            soundManager.playSelect();
+            soundManager.playWhoosh();
+            game.screens.showGame(EndlessMode.getInstance().next());
+        } else if (progress.isLevelUnlocked(index + 1)) {
+            soundManager.playSelect();
+            soundManager.playWhoosh();
+            // Start the level
+            Level level = levelManager.getLevel(index + 1);
+            game.screens.showGame(level);
         } else {
-            isDragging = false;
+            soundManager.playWrong();
         }
     }
 
+    /**
+     * Tile index under an unscrolled grid position (levelCount = endless tile), or -1
+     */
+    private int tileAt(float x, float y) {
+        int col = (int) Math.floor((x - START_X) / ROW_PITCH);
+        int row = (int) Math.floor((rowY(0) + LEVEL_SIZE - y) / ROW_PITCH);
+        if (col < 0 || col >= COLUMNS || row < 0 || row >= rows) return -1;
+
+        // The spacing between tiles is not part of either
+        if (x > columnX(col) + LEVEL_SIZE || y < rowY(row)) return -1;
+
+        int index = row * COLUMNS + col;
+        return index <= levelCount ? index : -1;
+    }
+
     @Override
     public void resize(int width, int height) {
         viewport.update(width, height);
@@ -315,10 +455,5 @@ public class LevelSelectScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (smallFont != null) smallFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
@@ -14,10 +14,8 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -25,10 +23,10 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 /**
  * Lose screen with retry and menu options
  */
-public class LoseScreen implements Screen {
+public class LoseScreen implements Screen, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
-    private final Level level;
+    private Level level;
 
     private OrthographicCamera camera;
     private Viewport viewport;
@@ -36,19 +34,17 @@ public class LoseScreen implements Screen {
 
     private Texture backgroundTexture;
     private Texture gameoverTexture;
+    private TextureRegion gameoverRegion;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
-    private BitmapFont titleFont;
-    private ShapeRenderer shapeRenderer;
-    private GlyphLayout layout;
 
-    private Rectangle retryButton;
-    private Rectangle menuButton;
+    private final WidgetGroup ui = new WidgetGroup();
+    private LabelWidget levelNameLabel;
     private SoundManager soundManager;
 
-    public LoseScreen(MastermindHDGame game, Level level) {
+    public LoseScreen(MastermindHDGame game) {
         this.game = game;
-        this.level = level;
         this.soundManager = SoundManager.getInstance();
 
         camera = new OrthographicCamera();
@@ -56,31 +52,50 @@ public class LoseScreen implements Screen {
         camera.position.set(MastermindHDGame.GAME_WIDTH / 2f, MastermindHDGame.GAME_HEIGHT / 2f, 0);
         touchPoint = new Vector3();
 
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
-        gameoverTexture = new Texture(Gdx.files.internal("gfx/gameover_lose.png"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
+        gameoverTexture = AssetCache.getInstance().getTexture("gfx/gameover_lose.png");
+        gameoverRegion = new TextureRegion(gameoverTexture);
 
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(2.0f);
-
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.RED);
-        titleFont.getData().setScale(3.5f);
+        font = fonts.newFont(Color.WHITE);
 
-        shapeRenderer = new ShapeRenderer();
-        layout = new GlyphLayout();
+        // Level name and encouragement
+        levelNameLabel = ui.add(new LabelWidget(font, 1.5f, Color.LIGHT_GRAY));
+        levelNameLabel.setLine(0, 360, MastermindHDGame.GAME_WIDTH);
+        ui.add(new LabelWidget(font, 1.5f, Color.WHITE)).setText("Try again! You can do it!")
+                .setLine(0, 320, MastermindHDGame.GAME_WIDTH);
 
         // Buttons
         float buttonWidth = 250;
         float buttonHeight = 70;
         float centerX = MastermindHDGame.GAME_WIDTH / 2f - buttonWidth / 2;
 
-        retryButton = new Rectangle(centerX, 200, buttonWidth, buttonHeight);
-        menuButton = new Rectangle(centerX, 110, buttonWidth, buttonHeight);
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Retry").setColor(0.7f, 0.5f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    // Retry current level
+                    game.screens.showGame(level);
+                })
+                .setBounds(centerX, 200, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Menu").setColor(0.2f, 0.2f, 0.7f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    // Back to level select
+                    game.screens.showLevelSelect();
+                })
+                .setBounds(centerX, 110, buttonWidth, buttonHeight);
+    }
+
+    /**
+     * Set the failed level before showing (the screen is reused)
+     */
+    public void configure(Level level) {
+        this.level = level;
+        levelNameLabel.setText(level.getName());
     }
 
     @Override
@@ -100,75 +115,30 @@ public class LoseScreen implements Screen {
         handleInput();
 
         // Draw background (dimmed)
-        game.batch.begin();
         backgroundSprite.setColor(0.4f, 0.3f, 0.3f, 1f);
-        backgroundSprite.draw(game.batch);
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
         backgroundSprite.setColor(1, 1, 1, 1);
 
         // Draw game over graphic
         float gameoverX = MastermindHDGame.GAME_WIDTH / 2f - 256;
         float gameoverY = 400;
-        game.batch.draw(gameoverTexture, gameoverX, gameoverY);
-
-        game.batch.end();
-
-        // Draw buttons
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        shapeRenderer.setColor(0.7f, 0.5f, 0.2f, 1f);
-        shapeRenderer.rect(retryButton.x, retryButton.y, retryButton.width, retryButton.height);
-
-        shapeRenderer.setColor(0.2f, 0.2f, 0.7f, 1f);
-        shapeRenderer.rect(menuButton.x, menuButton.y, menuButton.width, menuButton.height);
+        game.renderQueue.draw(RenderQueue.LAYER_WORLD, gameoverRegion, gameoverX, gameoverY,
+                gameoverRegion.getRegionWidth(), gameoverRegion.getRegionHeight());
 
-        shapeRenderer.end();
+        ui.draw(game.renderQueue);
 
-        // Draw text
-        game.batch.begin();
-
-        // Level name
-        font.getData().setScale(1.5f);
-        font.setColor(Color.LIGHT_GRAY);
-        layout.setText(font, level.getName());
-        font.draw(game.batch, level.getName(), (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 360);
-
-        // Encouragement
-        font.setColor(Color.WHITE);
-        String msg = "Try again! You can do it!";
-        layout.setText(font, msg);
-        font.draw(game.batch, msg, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 320);
-
-        // Button text
-        font.getData().setScale(2.0f);
-        drawCenteredText("Retry", retryButton);
-        drawCenteredText("Menu", menuButton);
-
-        game.batch.end();
+        game.renderQueue.flush(game.batch);
     }
 
-    private void drawCenteredText(String text, Rectangle button) {
-        layout.setText(font, text);
-        float x = button.x + (button.width - layout.width) / 2;
-        float y = button.y + (button.height + layout.height) / 2;
-        font.draw(game.batch, text, x, y);
+    private void handleInput() {
+        game.input.process(this);
     }
 
-    private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (retryButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                // Retry current level
-                game.setScreen(new EnhancedGameScreen(game, level));
-            } else if (menuButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                // Back to level select
-                game.setScreen(new LevelSelectScreen(game));
-            }
-        }
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        ui.touch(touchPoint.x, touchPoint.y);
     }
 
     @Override
@@ -187,11 +157,5 @@ public class LoseScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (gameoverTexture != null) gameoverTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
@@ -16,8 +16,6 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -25,7 +23,7 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 /**
  * Main menu screen - first screen players see
  */
-public class MainMenuScreen implements Screen {
+public class MainMenuScreen implements Screen, RenderScheduler.Animated, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
     private OrthographicCamera camera;
@@ -34,17 +32,24 @@ public class MainMenuScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
     private BitmapFont titleFont;
-    private ShapeRenderer shapeRenderer;
     private GlyphLayout layout;
 
-    // Menu buttons
-    private Rectangle playButton;
-    private Rectangle settingsButton;
-    private Rectangle quitButton;
+    // Menu buttons and labels
+    private final WidgetGroup ui = new WidgetGroup();
+    private LabelWidget progressLabel;
+    private ButtonWidget endlessButton;
 
-    private float time = 0;
+    private float idleTime = 0;
+
+    private final TweenManager tweens = new TweenManager();
+    private final TweenManager.Value titleScale = new TweenManager.Value(4f);
+    private boolean titlePulsing = false;
+
+    // Title pulses for this long after the last touch, then the menu idles
+    private static final float TITLE_PULSE_SECONDS = 8f;
     private SoundManager soundManager;
 
     public MainMenuScreen(MastermindHDGame game) {
@@ -57,20 +62,17 @@ public class MainMenuScreen implements Screen {
         touchPoint = new Vector3();
 
         // Load assets
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(2.0f);
+        font = fonts.newFont(Color.WHITE);
+        fonts.setScale(font, 2.0f);
 
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.GOLD);
-        titleFont.getData().setScale(4.0f);
+        titleFont = fonts.newFont(Color.GOLD);
+        fonts.setScale(titleFont, 4.0f);
 
-        shapeRenderer = new ShapeRenderer();
         layout = new GlyphLayout();
 
         // Create buttons
@@ -80,21 +82,74 @@ public class MainMenuScreen implements Screen {
         float startY = 350;
         float spacing = 100;
 
-        playButton = new Rectangle(centerX, startY, buttonWidth, buttonHeight);
-        settingsButton = new Rectangle(centerX, startY - spacing, buttonWidth, buttonHeight);
-        quitButton = new Rectangle(centerX, startY - spacing * 2, buttonWidth, buttonHeight);
+        // Play button (green)
+        ui.add(new ButtonWidget(font, 2.5f, Color.WHITE)).setText("PLAY").setColor(0.2f, 0.7f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    soundManager.playWhoosh();
+                    game.screens.showLevelSelect();
+                })
+                .setBounds(centerX, startY, buttonWidth, buttonHeight);
+
+        // Endless button (purple), shown once the last level is completed
+        endlessButton = ui.add(new ButtonWidget(font, 2.5f, Color.WHITE)).setText("ENDLESS").setColor(0.6f, 0.2f, 0.7f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    soundManager.playWhoosh();
+                    game.screens.showGame(EndlessMode.getInstance().next());
+                });
+        endlessButton.setBounds(centerX, startY + spacing, buttonWidth, buttonHeight);
+
+        // Settings button (blue)
+        ui.add(new ButtonWidget(font, 2.5f, Color.WHITE)).setText("SETTINGS").setColor(0.2f, 0.2f, 0.7f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showSettings();
+                })
+                .setBounds(centerX, startY - spacing, buttonWidth, buttonHeight);
+
+        // Quit button (red)
+        ui.add(new ButtonWidget(font, 2.5f, Color.WHITE)).setText("QUIT").setColor(0.7f, 0.2f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    Gdx.app.exit();
+                })
+                .setBounds(centerX, startY - spacing * 2, buttonWidth, buttonHeight);
+
+        progressLabel = ui.add(new LabelWidget(font, 1.5f, Color.WHITE));
+        progressLabel.setLine(0, 150, MastermindHDGame.GAME_WIDTH);
     }
 
     @Override
     public void show() {
         Gdx.app.log("MainMenu", "Main menu shown");
+        idleTime = 0;
+        startTitlePulse();
         soundManager.loadSettings();
         soundManager.playMusic();
+
+        endlessButton.setVisible(EndlessMode.getInstance().isUnlocked());
+
+        // Progress info
+        GameProgress progress = GameProgress.getInstance();
+        progressLabel.begin()
+                .append("Level ").append(progress.getHighestUnlockedLevel())
+                .append(" | ").append(progress.getTotalStars())
+                .append("⭐ | ").append(progress.getCompletionPercentage()).append("% Complete");
+        progressLabel.end();
     }
 
     @Override
     public void render(float delta) {
-        time += delta;
+        idleTime += delta;
+
+        // Let the title settle once the menu has been idle for a while
+        if (titlePulsing && idleTime >= TITLE_PULSE_SECONDS) {
+            tweens.kill(titleScale);
+            tweens.to(titleScale, 4f, 0.3f, Easing.SINE_IN_OUT);
+            titlePulsing = false;
+        }
+        tweens.update(delta);
 
         // Clear screen
         Gdx.gl.glClearColor(0.2f, 0.15f, 0.1f, 1);
@@ -107,81 +162,45 @@ public class MainMenuScreen implements Screen {
         handleInput();
 
         // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
-
-        // Draw buttons
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        // Play button (green)
-        shapeRenderer.setColor(0.2f, 0.7f, 0.2f, 1f);
-        shapeRenderer.rect(playButton.x, playButton.y, playButton.width, playButton.height);
-
-        // Settings button (blue)
-        shapeRenderer.setColor(0.2f, 0.2f, 0.7f, 1f);
-        shapeRenderer.rect(settingsButton.x, settingsButton.y, settingsButton.width, settingsButton.height);
-
-        // Quit button (red)
-        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(quitButton.x, quitButton.y, quitButton.width, quitButton.height);
-
-        shapeRenderer.end();
-
-        // Draw text
-        game.batch.begin();
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
 
         // Title with pulsing effect
-        float titleScale = 4.0f + (float)Math.sin(time * 2) * 0.3f;
-        titleFont.getData().setScale(titleScale);
+        fonts.setScale(titleFont, titleScale.value);
         layout.setText(titleFont, "MASTERMIND HD");
         float titleX = (MastermindHDGame.GAME_WIDTH - layout.width) / 2;
-        titleFont.draw(game.batch, "MASTERMIND HD", titleX, 650);
+        game.renderQueue.text(RenderQueue.LAYER_TEXT, titleFont, "MASTERMIND HD", titleX, 650);
 
-        // Button text
-        font.getData().setScale(2.5f);
-        drawCenteredText("PLAY", playButton);
-        drawCenteredText("SETTINGS", settingsButton);
-        drawCenteredText("QUIT", quitButton);
+        // Buttons and labels
+        ui.draw(game.renderQueue);
 
-        // Progress info
-        GameProgress progress = GameProgress.getInstance();
-        font.getData().setScale(1.5f);
-        String progressText = String.format("Level %d | %d⭐ | %d%% Complete",
-                progress.getHighestUnlockedLevel(),
-                progress.getTotalStars(),
-                progress.getCompletionPercentage());
-        layout.setText(font, progressText);
-        font.draw(game.batch, progressText, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 150);
-
-        game.batch.end();
+        game.renderQueue.flush(game.batch);
     }
 
-    private void drawCenteredText(String text, Rectangle button) {
-        layout.setText(font, text);
-        float x = button.x + (button.width - layout.width) / 2;
-        float y = button.y + (button.height + layout.height) / 2;
-        font.draw(game.batch, text, x, y);
+    @Override
+    public boolean isAnimating() {
+        return idleTime < TITLE_PULSE_SECONDS || tweens.hasActiveTweens();
+    }
+
+    private void startTitlePulse() {
+        if (titlePulsing || !QualityController.getInstance().areAnimatedEffectsEnabled()) return;
+
+        tweens.kill(titleScale);
+        tweens.to(titleScale, 4.3f, 0.8f, Easing.SINE_IN_OUT).repeatYoyo(-1);
+        titlePulsing = true;
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (playButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                soundManager.playWhoosh();
-                game.setScreen(new LevelSelectScreen(game));
-            } else if (settingsButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new SettingsScreen(game));
-            } else if (quitButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                Gdx.app.exit();
-            }
-        }
+        game.input.process(this);
+    }
+
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        idleTime = 0;
+        startTitlePulse();
+
+        ui.touch(touchPoint.x, touchPoint.y);
     }
 
     @Override
@@ -200,10 +219,5 @@ public class MainMenuScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
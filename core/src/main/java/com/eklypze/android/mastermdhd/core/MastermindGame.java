@@ -28,6 +28,9 @@ public class MastermindGame {
     public static final int BLACK = 6;
     public static final int WHITE = 7;
 
+    private static final int SPAN_MOVE = TraceRecorder.name("MastermindGame.makeMove");
+    private static final int SPAN_GUESS = TraceRecorder.name("MastermindGame.makeGuess");
+
     // Game Configuration (from level)
     private final Level level;
     private final int numColors;
@@ -223,6 +226,15 @@ public class MastermindGame {
      * Makes a move by guessing a single color in the current position
      */
     public Feedback makeMove(int colorIndex) {
+        long span = TraceRecorder.getInstance().begin();
+        try {
+            return placeColor(colorIndex);
+        } finally {
+            TraceRecorder.getInstance().end(SPAN_MOVE, span);
+        }
+    }
+
+    private Feedback placeColor(int colorIndex) {
         if (gameOver) {
             throw new IllegalStateException("Game is over. Start a new game.");
         }
@@ -272,6 +284,15 @@ public class MastermindGame {
      * Makes a complete guess of all colors at once
      */
     public Feedback makeGuess(int[] guess) {
+        long span = TraceRecorder.getInstance().begin();
+        try {
+            return submitGuess(guess);
+        } finally {
+            TraceRecorder.getInstance().end(SPAN_GUESS, span);
+        }
+    }
+
+    private Feedback submitGuess(int[] guess) {
         if (gameOver) {
             throw new IllegalStateException("Game is over. Start a new game.");
         }
@@ -377,6 +398,46 @@ public class MastermindGame {
         return feedbackHistory[turn];
     }
 
+    /**
+     * Colour placed at a cell of any started row, or -1 if empty (no copy)
+     */
+    public int getGuessColor(int turn, int position) {
+        if (turn < 0 || turn >= maxTurns || position < 0 || position >= codeLength) {
+            return -1;
+        }
+        return guessHistory[turn][position];
+    }
+
+    /**
+     * Black pegs for a scored row, or -1 if the row has no feedback yet
+     */
+    public int getBlackPegs(int turn) {
+        Feedback feedback = turn >= 0 && turn < maxTurns ? feedbackHistory[turn] : null;
+        return feedback == null ? -1 : feedback.blackPegs;
+    }
+
+    /**
+     * White pegs for a scored row, or -1 if the row has no feedback yet
+     */
+    public int getWhitePegs(int turn) {
+        Feedback feedback = turn >= 0 && turn < maxTurns ? feedbackHistory[turn] : null;
+        return feedback == null ? -1 : feedback.whitePegs;
+    }
+
+    /**
+     * Total number of balls placed so far (grows by one per move)
+     */
+    public int getPlacedCount() {
+        if (currentTurn >= maxTurns) {
+            return maxTurns * codeLength;
+        }
+        int placed = currentTurn * codeLength;
+        for (int i = 0; i < codeLength && guessHistory[currentTurn][i] != -1; i++) {
+            placed++;
+        }
+        return placed;
+    }
+
     public int[] getCurrentGuess() {
         if (gameOver) {
             return null;
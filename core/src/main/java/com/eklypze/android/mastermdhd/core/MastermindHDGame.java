@@ -9,7 +9,10 @@ package com.eklypze.android.mastermdhd.core;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Main game class that manages the application lifecycle and screens
@@ -20,20 +23,163 @@ public class MastermindHDGame extends Game {
     public static final int GAME_HEIGHT = 800;
 
     public SpriteBatch batch;
+    public RenderQueue renderQueue;
+    public InputQueue input;
+    public ScreenManager screens;
+    public StartupOrchestrator startup;
+
+    private static final int SPAN_FRAME = TraceRecorder.name("frame");
+    private Screen tracedScreen;
+    private int screenSpan;
+
+    private final MetricsRegistry.Histogram frameTime = MetricsRegistry.getInstance().histogram("frame");
+    // Set by setScreen until the new screen's first frame is drawn
+    private long transitionStart = 0;
 
     @Override
     public void create() {
+        startup = new StartupOrchestrator();
         batch = new SpriteBatch();
+        renderQueue = new RenderQueue();
+        input = new InputQueue();
+        Gdx.input.setInputProcessor(input);
+        screens = new ScreenManager(this);
+
+        // No GL needed: build the level table and read saved data off the render thread
+        startup.background("levels", LevelManager::getInstance);
+        startup.background("preferences", () -> {
+            GameProgress.getInstance();
+            GameStats.getInstance();
+        });
+
+        // Sounds first so decoding starts as early as possible
+        startup.render("sounds", SoundManager::getInstance);
+        startup.render("fonts", () -> FontManager.getInstance().load());
+        startup.render("glyphs", () -> PegGlyphCache.getInstance().load());
+        startup.render("textures", () -> AssetCache.getInstance().getTexture("gfx/wood_bg.jpg"));
+
+        // Have endless stages graded before the player asks for one
+        startup.render("endless", () -> {
+            if (EndlessMode.getInstance().isUnlocked()) EndlessMode.getInstance().start();
+        }, "levels", "preferences");
 
         // Start with the main menu
-        setScreen(new MainMenuScreen(this));
+        startup.render("menu", screens::showMainMenu, "levels", "preferences");
 
         Gdx.app.log("MastermindHD", "Game initialized - v2.0 with 100 levels!");
     }
 
+    @Override
+    public void render() {
+        if (!startup.isFinished()) {
+            // Splash while subsystems start (rendering stays continuous until then)
+            Gdx.gl.glClearColor(0.2f, 0.15f, 0.1f, 1);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            startup.update();
+            return;
+        }
+
+        RenderScheduler scheduler = RenderScheduler.getInstance();
+
+        // On-demand frames are spaced by idle time, not by load
+        if (scheduler.isContinuous()) {
+            QualityController.getInstance().recordFrame(Gdx.graphics.getDeltaTime());
+        }
+
+        TraceRecorder trace = TraceRecorder.getInstance();
+        long frameStart = TimeUtils.nanoTime();
+        PerfHud hud = PerfHud.getInstance();
+        hud.beginFrame();
+
+        // A screen set during this render is timed on its own first frame
+        long pendingTransition = transitionStart;
+        long screenStart = trace.begin();
+        super.render();
+        trace.end(getScreenSpan(), screenStart);
+        if (pendingTransition != 0 && transitionStart == pendingTransition && getScreen() != null) {
+            MetricsRegistry.getInstance().histogram("transition." + getScreen().getClass().getSimpleName())
+                    .recordSince(transitionStart);
+            transitionStart = 0;
+        }
+        // After the screen so cues see this frame's game clock
+        AudioScheduler.getInstance().update();
+        scheduler.frameRendered(getScreen());
+        startup.frameShown();
+        screens.update();
+        PrefetchScheduler.getInstance().update(Gdx.graphics.getDeltaTime());
+
+        hud.endFrame();
+        hud.draw(this);
+        trace.end(SPAN_FRAME, frameStart);
+        frameTime.recordSince(frameStart);
+        MetricsRegistry.getInstance().update(Gdx.graphics.getDeltaTime());
+    }
+
+    @Override
+    public void pause() {
+        super.pause();
+        // The app may be killed in the background: this is the last safe point
+        MetricsRegistry.getInstance().writeSession();
+    }
+
+    @Override
+    public void resume() {
+        super.resume();
+        MetricsRegistry.getInstance().startSession();
+    }
+
+    /**
+     * Span name for the current screen's render (looked up only when the screen changes)
+     */
+    private int getScreenSpan() {
+        Screen screen = getScreen();
+        if (screen != tracedScreen) {
+            tracedScreen = screen;
+            screenSpan = TraceRecorder.name(screen == null ? "Screen.render"
+                    : screen.getClass().getSimpleName() + ".render");
+        }
+        return screenSpan;
+    }
+
+    @Override
+    public void setScreen(Screen screen) {
+        // Drop anything the previous screen queued but never flushed
+        if (renderQueue != null) {
+            renderQueue.clear();
+        }
+        // Touches aimed at the previous screen must not reach the new one
+        if (input != null) {
+            input.clear();
+        }
+        Screen previous = getScreen();
+        transitionStart = TimeUtils.nanoTime();
+        super.setScreen(screen);
+        if (screens != null && previous != screen) {
+            screens.retire(previous);
+        }
+        RenderScheduler.getInstance().requestRender();
+    }
+
     @Override
     public void dispose() {
+        MetricsRegistry.getInstance().writeSession();
+        if (startup != null) {
+            startup.dispose();
+        }
         super.dispose();
+        if (screens != null) {
+            screens.dispose();
+        }
+        RenderScheduler.getInstance().dispose();
+        if (renderQueue != null) {
+            renderQueue.dispose();
+        }
+        EndlessMode.getInstance().dispose();
+        PerfHud.getInstance().dispose();
+        SoundManager.getInstance().dispose();
+        PegGlyphCache.getInstance().dispose();
+        FontManager.getInstance().dispose();
+        AssetCache.getInstance().dispose();
         if (batch != null) {
             batch.dispose();
         }
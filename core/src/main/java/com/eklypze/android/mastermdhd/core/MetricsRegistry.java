@@ -0,0 +1,365 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Metrics Registry
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Counters, gauges and latency histograms per session
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.TimeUtils;
+import java.lang.ref.WeakReference;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Always-on metrics: counters, sampled gauges and latency histograms
+ * (move to feedback, preference flushes, asset loads per file, screen
+ * transitions, frame CPU time, garbage collections).
+ *
+ * Metrics are looked up by name once and kept in fields; recording is
+ * a few atomic operations and never allocates, so it stays enabled in
+ * release builds. Each foreground session (create or resume until
+ * pause) is appended as one JSON line to metrics/sessions.jsonl in
+ * local storage, with the device details needed to compare tiers.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry instance = new MetricsRegistry();
+
+    private static final String SESSION_FILE = "metrics/sessions.jsonl";
+    private static final String OLD_SESSION_FILE = "metrics/sessions.old.jsonl";
+    // About 150 sessions; the previous file is kept when it fills up
+    private static final long MAX_FILE_BYTES = 64 * 1024;
+    private static final float GAUGE_INTERVAL = 1f;
+
+    /**
+     * A count that only goes up during a session
+     */
+    public static class Counter {
+        private final AtomicLong value = new AtomicLong();
+
+        public void increment() {
+            value.incrementAndGet();
+        }
+
+        public void add(long amount) {
+            value.addAndGet(amount);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+
+    /**
+     * A value sampled once a second (last and highest are reported)
+     */
+    public interface Gauge {
+        float getValue();
+    }
+
+    private static class GaugeSample {
+        final Gauge source;
+        float last;
+        float max;
+        boolean sampled;
+
+        GaugeSample(Gauge source) {
+            this.source = source;
+        }
+    }
+
+    /**
+     * Durations in log-linear buckets (16 per power of two, so values are
+     * within about 6% of the truth) from 1 microsecond to hours.
+     */
+    public static class Histogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        // Up to 2^36 microseconds
+        private static final int BUCKETS = (36 - SUB_BITS + 1) * SUB_COUNT;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        public void record(long nanos) {
+            long micros = Math.max(0, nanos / 1000);
+            buckets.incrementAndGet(bucketOf(micros));
+            count.incrementAndGet();
+            totalMicros.addAndGet(micros);
+
+            long max = maxMicros.get();
+            while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+                max = maxMicros.get();
+            }
+        }
+
+        /**
+         * Record the time since a TimeUtils.nanoTime() reading
+         */
+        public void recordSince(long startNanos) {
+            record(TimeUtils.nanoTime() - startNanos);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public float getMeanMillis() {
+            long n = count.get();
+            return n == 0 ? 0 : totalMicros.get() / (n * 1000f);
+        }
+
+        public float getMaxMillis() {
+            return maxMicros.get() / 1000f;
+        }
+
+        /**
+         * Value below which the given share (0-1) of recordings fall, in milliseconds
+         */
+        public float getPercentileMillis(float share) {
+            long n = count.get();
+            if (n == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(share * n));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    long middle = lowerBound(i) + bucketWidth(i) / 2;
+                    return Math.min(middle, maxMicros.get()) / 1000f;
+                }
+            }
+            return getMaxMillis();
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.set(0);
+            totalMicros.set(0);
+            maxMicros.set(0);
+        }
+
+        private static int bucketOf(long micros) {
+            if (micros < SUB_COUNT) return (int) micros;
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+            return Math.min(BUCKETS - 1, (exponent - SUB_BITS + 1) * SUB_COUNT + sub);
+        }
+
+        private static long lowerBound(int bucket) {
+            if (bucket < SUB_COUNT) return bucket;
+            int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+            return (long) (SUB_COUNT + bucket % SUB_COUNT) << (exponent - SUB_BITS);
+        }
+
+        private static long bucketWidth(int bucket) {
+            if (bucket < SUB_COUNT) return 1;
+            return 1L << (bucket / SUB_COUNT - 1);
+        }
+    }
+
+    // Registered metrics by name (registration may happen on worker threads)
+    private final Map<String, Counter> counters = new TreeMap<>();
+    private final Map<String, GaugeSample> gauges = new TreeMap<>();
+    private final Map<String, Histogram> histograms = new TreeMap<>();
+
+    // Built-in metrics
+    private final Counter frames = counter("frames");
+    private final Counter collections = counter("gc.count");
+
+    // Cleared by the collector: one tick per observed collection (a lower bound)
+    private WeakReference<Object> gcSentinel = new WeakReference<>(new Object());
+
+    private long sessionStart = TimeUtils.millis();
+    private float gaugeTimer = 0;
+    private String glRenderer;
+
+    private MetricsRegistry() {
+        gauge("heap.java.mb", () -> Gdx.app.getJavaHeap() / 1048576f);
+        gauge("heap.native.mb", () -> Gdx.app.getNativeHeap() / 1048576f);
+        gauge("quality", () -> QualityController.getInstance().getQuality().ordinal());
+    }
+
+    public static MetricsRegistry getInstance() {
+        return instance;
+    }
+
+    public synchronized Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter == null) {
+            counter = new Counter();
+            counters.put(name, counter);
+        }
+        return counter;
+    }
+
+    public synchronized Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram();
+            histograms.put(name, histogram);
+        }
+        return histogram;
+    }
+
+    public synchronized void gauge(String name, Gauge source) {
+        gauges.put(name, new GaugeSample(source));
+    }
+
+    /**
+     * Once per rendered frame (render thread)
+     */
+    public void update(float delta) {
+        frames.increment();
+
+        if (gcSentinel.get() == null) {
+            collections.increment();
+            gcSentinel = new WeakReference<>(new Object());
+        }
+
+        if (glRenderer == null) {
+            glRenderer = Gdx.gl.glGetString(GL20.GL_RENDERER);
+        }
+
+        gaugeTimer += delta;
+        if (gaugeTimer >= GAUGE_INTERVAL) {
+            gaugeTimer = 0;
+            sampleGauges();
+        }
+    }
+
+    private synchronized void sampleGauges() {
+        for (GaugeSample gauge : gauges.values()) {
+            float value = gauge.source.getValue();
+            gauge.max = gauge.sampled ? Math.max(gauge.max, value) : value;
+            gauge.last = value;
+            gauge.sampled = true;
+        }
+    }
+
+    /**
+     * Forget everything recorded and start a new session (on resume)
+     */
+    public synchronized void startSession() {
+        for (Counter counter : counters.values()) {
+            counter.value.set(0);
+        }
+        for (GaugeSample gauge : gauges.values()) {
+            gauge.sampled = false;
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        sessionStart = TimeUtils.millis();
+        gaugeTimer = 0;
+    }
+
+    /**
+     * Append this session to the session file and start a new one (on pause).
+     * Sessions in which no frame was drawn are not written.
+     */
+    public synchronized void writeSession() {
+        if (frames.get() == 0) return;
+        if (!Gdx.files.isLocalStorageAvailable()) {
+            startSession();
+            return;
+        }
+
+        sampleGauges();
+        String line = toJson();
+        try {
+            FileHandle file = Gdx.files.local(SESSION_FILE);
+            if (file.exists() && file.length() > MAX_FILE_BYTES) {
+                file.moveTo(Gdx.files.local(OLD_SESSION_FILE));
+            }
+            file.writeString(line, true, "UTF-8");
+            Gdx.app.log("MetricsRegistry", "Session written (" + line.length() + " bytes)");
+        } catch (Exception e) {
+            Gdx.app.error("MetricsRegistry", "Failed to write " + SESSION_FILE, e);
+        }
+        startSession();
+    }
+
+    /**
+     * This session as one line of JSON (durations in milliseconds)
+     */
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"start\":").append(sessionStart)
+                .append(",\"seconds\":").append((TimeUtils.millis() - sessionStart) / 1000);
+
+        json.append(",\"device\":{\"type\":\"").append(Gdx.app.getType())
+                .append("\",\"os\":").append(Gdx.app.getVersion())
+                .append(",\"screen\":\"").append(Gdx.graphics.getWidth()).append('x').append(Gdx.graphics.getHeight())
+                .append("\",\"gl\":\"").append(escape(glRenderer == null ? "" : glRenderer))
+                .append("\",\"quality\":\"").append(QualityController.getInstance().getQuality()).append("\"}");
+
+        json.append(",\"counters\":{");
+        boolean comma = false;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (comma) json.append(',');
+            json.append('"').append(escape(entry.getKey())).append("\":").append(entry.getValue().get());
+            comma = true;
+        }
+
+        // Gauges: [last, max]
+        json.append("},\"gauges\":{");
+        comma = false;
+        for (Map.Entry<String, GaugeSample> entry : gauges.entrySet()) {
+            GaugeSample gauge = entry.getValue();
+            if (!gauge.sampled) continue;
+            if (comma) json.append(',');
+            json.append('"').append(escape(entry.getKey())).append("\":[")
+                    .append(format(gauge.last)).append(',').append(format(gauge.max)).append(']');
+            comma = true;
+        }
+
+        // Histograms: [count, mean, p50, p90, p99, max]
+        json.append("},\"histograms\":{");
+        comma = false;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) continue;
+            if (comma) json.append(',');
+            json.append('"').append(escape(entry.getKey())).append("\":[")
+                    .append(histogram.getCount()).append(',')
+                    .append(format(histogram.getMeanMillis())).append(',')
+                    .append(format(histogram.getPercentileMillis(0.5f))).append(',')
+                    .append(format(histogram.getPercentileMillis(0.9f))).append(',')
+                    .append(format(histogram.getPercentileMillis(0.99f))).append(',')
+                    .append(format(histogram.getMaxMillis())).append(']');
+            comma = true;
+        }
+        json.append("}}\n");
+        return json.toString();
+    }
+
+    private static String format(float value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Get registry statistics
+     */
+    public synchronized String getStats() {
+        Histogram frame = histograms.get("frame");
+        return String.format("Metrics: %d counters | %d gauges | %d histograms | %d GCs | frame p99 %.1fms",
+                counters.size(), gauges.size(), histograms.size(), collections.get(),
+                frame == null ? 0 : frame.getPercentileMillis(0.99f));
+    }
+}
@@ -7,20 +7,37 @@
 
 package com.eklypze.android.mastermdhd.core;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 /**
  * Manages particle effects for visual polish
  */
-public class ParticleManager {
+public class ParticleManager implements RenderQueue.Drawable {
+
+    private static final Color[] CONFETTI_COLORS = {
+        Color.GOLD, Color.YELLOW, Color.ORANGE,
+        Color.RED, Color.PINK, Color.PURPLE,
+        Color.CYAN, Color.SKY, Color.LIME
+    };
 
     private Array<Particle> particles;
     private boolean enabled = true;
 
+    // Shares the RenderQueue's white-pixel texture, so shapes and particles batch together
+    private TextureRegion particleRegion;
+
+    private final Pool<Particle> particlePool = new Pool<Particle>() {
+        @Override
+        protected Particle newObject() {
+            return new Particle();
+        }
+    };
+
     public ParticleManager() {
         particles = new Array<>();
     }
@@ -28,16 +45,16 @@ public class ParticleManager {
     /**
      * Individual particle
      */
-    private static class Particle {
+    private static class Particle implements Pool.Poolable {
         float x, y;
         float vx, vy;
         float life;
         float maxLife;
         float size;
-        Color color;
+        float r, g, b;
         boolean active;
 
-        Particle(float x, float y, float vx, float vy, float life, float size, Color color) {
+        void init(float x, float y, float vx, float vy, float life, float size, float r, float g, float b) {
             this.x = x;
             this.y = y;
             this.vx = vx;
@@ -45,7 +62,9 @@ public class ParticleManager {
             this.life = life;
             this.maxLife = life;
             this.size = size;
-            this.color = color;
+            this.r = r;
+            this.g = g;
+            this.b = b;
             this.active = true;
         }
 
@@ -65,6 +84,24 @@ public class ParticleManager {
         float getAlpha() {
             return Math.max(0, life / maxLife);
         }
+
+        @Override
+        public void reset() {
+            active = false;
+        }
+    }
+
+    /**
+     * Take a particle from the pool and add it to the live list
+     */
+    private void spawn(float x, float y, float vx, float vy, float life, float size, Color color) {
+        spawn(x, y, vx, vy, life, size, color.r, color.g, color.b);
+    }
+
+    private void spawn(float x, float y, float vx, float vy, float life, float size, float r, float g, float b) {
+        Particle p = particlePool.obtain();
+        p.init(x, y, vx, vy, life, size, r, g, b);
+        particles.add(p);
     }
 
     /**
@@ -73,11 +110,7 @@ public class ParticleManager {
     public void createConfetti(float x, float y, int count) {
         if (!enabled) return;
 
-        Color[] confettiColors = {
-            Color.GOLD, Color.YELLOW, Color.ORANGE,
-            Color.RED, Color.PINK, Color.PURPLE,
-            Color.CYAN, Color.SKY, Color.LIME
-        };
+        count = QualityController.getInstance().scaleParticleCount(count);
 
         for (int i = 0; i < count; i++) {
             float angle = MathUtils.random(0f, 360f);
@@ -87,12 +120,10 @@ public class ParticleManager {
 
             float life = MathUtils.random(1f, 2f);
             float size = MathUtils.random(8f, 16f);
-            Color color = confettiColors[MathUtils.random(confettiColors.length - 1)];
+            Color color = CONFETTI_COLORS[MathUtils.random(CONFETTI_COLORS.length - 1)];
 
-            particles.add(new Particle(x, y, vx, vy, life, size, color));
+            spawn(x, y, vx, vy, life, size, color);
         }
-
-        Gdx.app.log("ParticleManager", "Created " + count + " confetti particles at (" + x + ", " + y + ")");
     }
 
     /**
@@ -101,7 +132,7 @@ public class ParticleManager {
     public void createFireworks(float x, float y) {
         if (!enabled) return;
 
-        int count = 50;
+        int count = QualityController.getInstance().scaleParticleCount(50);
         for (int i = 0; i < count; i++) {
             float angle = (360f / count) * i;
             float speed = MathUtils.random(150f, 300f);
@@ -111,14 +142,10 @@ public class ParticleManager {
             float life = MathUtils.random(1.5f, 2.5f);
             float size = MathUtils.random(6f, 12f);
 
-            Color color = new Color(
+            spawn(x, y, vx, vy, life, size,
                 MathUtils.random(0.5f, 1f),
                 MathUtils.random(0.5f, 1f),
-                MathUtils.random(0.5f, 1f),
-                1f
-            );
-
-            particles.add(new Particle(x, y, vx, vy, life, size, color));
+                MathUtils.random(0.5f, 1f));
         }
     }
 
@@ -129,7 +156,7 @@ public class ParticleManager {
         if (!enabled) return;
 
         int rays = 8;
-        int particlesPerRay = 3;
+        int particlesPerRay = QualityController.getInstance().scaleParticleCount(3);
 
         for (int i = 0; i < rays; i++) {
             float angle = (360f / rays) * i;
@@ -142,7 +169,7 @@ public class ParticleManager {
                 float life = 1f + (j * 0.3f);
                 float size = 10f - (j * 2f);
 
-                particles.add(new Particle(x, y, vx, vy, life, size, color));
+                spawn(x, y, vx, vy, life, size, color);
             }
         }
     }
@@ -153,7 +180,7 @@ public class ParticleManager {
     public void createSparkle(float x, float y) {
         if (!enabled) return;
 
-        int count = 10;
+        int count = QualityController.getInstance().scaleParticleCount(10);
         for (int i = 0; i < count; i++) {
             float angle = MathUtils.random(0f, 360f);
             float speed = MathUtils.random(50f, 150f);
@@ -163,7 +190,7 @@ public class ParticleManager {
             float life = MathUtils.random(0.5f, 1f);
             float size = MathUtils.random(3f, 6f);
 
-            particles.add(new Particle(x, y, vx, vy, life, size, Color.YELLOW));
+            spawn(x, y, vx, vy, life, size, Color.YELLOW);
         }
     }
 
@@ -172,6 +199,8 @@ public class ParticleManager {
      */
     public void update(float delta) {
         if (!enabled) return;
+        PerfHud hud = PerfHud.getInstance();
+        hud.begin(PerfHud.PHASE_PARTICLES);
 
         // Update particles
         for (int i = particles.size - 1; i >= 0; i--) {
@@ -180,41 +209,65 @@ public class ParticleManager {
 
             if (!p.active) {
                 particles.removeIndex(i);
+                particlePool.free(p);
             }
         }
+
+        hud.countParticles(getParticleCount());
+        hud.end();
     }
 
     /**
-     * Render all particles using ShapeRenderer (no texture needed)
+     * Render all particles as textured quads inside the caller's batch.
+     * The batch must already be begun; it is never flushed or restarted here.
      */
-    public void render(SpriteBatch batch, com.badlogic.gdx.graphics.glutils.ShapeRenderer shapeRenderer) {
+    public void render(SpriteBatch batch) {
         if (!enabled || particles.size == 0) return;
 
-        // End batch to use ShapeRenderer
-        batch.end();
+        if (particleRegion == null) {
+            particleRegion = AssetCache.getInstance().getParticleRegion();
+        }
 
-        shapeRenderer.begin(com.badlogic.gdx.graphics.glutils.ShapeRenderer.ShapeType.Filled);
+        PerfHud hud = PerfHud.getInstance();
+        hud.begin(PerfHud.PHASE_PARTICLES);
+        float previousColor = batch.getPackedColor();
 
-        for (Particle p : particles) {
+        for (int i = 0; i < particles.size; i++) {
+            Particle p = particles.get(i);
             if (!p.active) continue;
 
-            float alpha = p.getAlpha();
-            shapeRenderer.setColor(p.color.r, p.color.g, p.color.b, alpha);
-
-            // Draw particle as filled circle
-            shapeRenderer.circle(p.x, p.y, p.size / 2, 8);
+            float half = p.size / 2;
+            batch.setPackedColor(Color.toFloatBits(p.r, p.g, p.b, p.getAlpha()));
+            batch.draw(particleRegion, p.x - half, p.y - half, p.size, p.size);
         }
 
-        shapeRenderer.end();
+        batch.setPackedColor(previousColor);
+        hud.end();
+    }
 
-        // Resume batch
-        batch.begin();
+    @Override
+    public void draw(SpriteBatch batch) {
+        render(batch);
+    }
+
+    /**
+     * Fetch the particle region and pre-fill the pool so the first burst allocates nothing
+     */
+    public void warmUp(int count) {
+        if (particleRegion == null) {
+            particleRegion = AssetCache.getInstance().getParticleRegion();
+        }
+        int missing = QualityController.getInstance().scaleParticleCount(count) - particlePool.getFree();
+        if (missing > 0) {
+            particlePool.fill(missing);
+        }
     }
 
     /**
      * Clear all particles
      */
     public void clear() {
+        particlePool.freeAll(particles);
         particles.clear();
     }
 
@@ -241,5 +294,7 @@ public class ParticleManager {
      */
     public void dispose() {
         clear();
+        // The region belongs to AssetCache
+        particleRegion = null;
     }
 }
@@ -0,0 +1,190 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Peg Glyph Cache
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Generated feedback peg glyphs for any code length
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Builds one feedback glyph for every (black, white, codeLength) up to
+ * MAX_CODE_LENGTH. A single peg shape is generated, tinted black, white
+ * and "empty", and composited into one atlas page at startup. Lookups
+ * are a 3D array index.
+ */
+public class PegGlyphCache {
+    private static PegGlyphCache instance;
+    private static final int SPAN_LOAD = TraceRecorder.name("PegGlyphCache.load");
+
+    public static final int MAX_CODE_LENGTH = 6;
+
+    private static final int CELL_SIZE = 48;
+    private static final int ATLAS_SIZE = 512;
+    private static final int PEG_SOURCE_SIZE = 32;
+    private static final int CELL_PADDING = 3;
+
+    private Pixmap atlasPixmap;
+    private Texture atlasTexture;
+
+    // [codeLength][black][white]
+    private TextureRegion[][][] glyphs;
+    private int glyphCount = 0;
+
+    private PegGlyphCache() {
+    }
+
+    public static PegGlyphCache getInstance() {
+        if (instance == null) {
+            instance = new PegGlyphCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Generate the atlas (once)
+     */
+    public void load() {
+        if (atlasTexture != null) return;
+        long span = TraceRecorder.getInstance().begin();
+
+        Pixmap blackPeg = createPeg(0.12f, 0.12f, 0.12f, 1f, 1f);
+        Pixmap whitePeg = createPeg(0.95f, 0.95f, 0.92f, 1f, 1f);
+        Pixmap emptyPeg = createPeg(0f, 0f, 0f, 0.35f, 0.6f);
+
+        atlasPixmap = new Pixmap(ATLAS_SIZE, ATLAS_SIZE, Pixmap.Format.RGBA8888);
+        atlasPixmap.setFilter(Pixmap.Filter.BiLinear);
+
+        int columns = ATLAS_SIZE / CELL_SIZE;
+        glyphs = new TextureRegion[MAX_CODE_LENGTH + 1][][];
+        glyphCount = 0;
+
+        // Regions are created once the texture exists; remember cell origins first
+        int[][][] cells = new int[MAX_CODE_LENGTH + 1][][];
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            cells[length] = new int[length + 1][length + 1];
+            for (int black = 0; black <= length; black++) {
+                for (int white = 0; black + white <= length; white++) {
+                    int cell = glyphCount++;
+                    int cellX = (cell % columns) * CELL_SIZE;
+                    int cellY = (cell / columns) * CELL_SIZE;
+                    paintGlyph(cellX, cellY, length, black, white, blackPeg, whitePeg, emptyPeg);
+                    cells[length][black][white] = cell;
+                }
+            }
+        }
+
+        blackPeg.dispose();
+        whitePeg.dispose();
+        emptyPeg.dispose();
+
+        // Managed so the atlas survives a lost GL context
+        atlasTexture = new Texture(new PixmapTextureData(atlasPixmap, null, false, false, true));
+        atlasTexture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            glyphs[length] = new TextureRegion[length + 1][length + 1];
+            for (int black = 0; black <= length; black++) {
+                for (int white = 0; black + white <= length; white++) {
+                    int cell = cells[length][black][white];
+                    glyphs[length][black][white] = new TextureRegion(atlasTexture,
+                            (cell % columns) * CELL_SIZE, (cell / columns) * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+                }
+            }
+        }
+
+        Gdx.app.log("PegGlyphCache", "Generated " + glyphCount + " feedback glyphs");
+        TraceRecorder.getInstance().end(SPAN_LOAD, span);
+    }
+
+    /**
+     * Glyph for a scored row, or null if the combination is impossible
+     */
+    public TextureRegion get(int black, int white, int codeLength) {
+        if (glyphs == null) load();
+        if (codeLength < 1 || codeLength > MAX_CODE_LENGTH) return null;
+        if (black < 0 || white < 0 || black + white > codeLength) return null;
+        return glyphs[codeLength][black][white];
+    }
+
+    /**
+     * Lay pegs out in two rows: black first, then white, then empty slots
+     */
+    private void paintGlyph(int cellX, int cellY, int length, int black, int white,
+                            Pixmap blackPeg, Pixmap whitePeg, Pixmap emptyPeg) {
+        int rows = length == 1 ? 1 : 2;
+        int columns = (length + rows - 1) / rows;
+        int inner = CELL_SIZE - CELL_PADDING * 2;
+        int pegSize = Math.min(inner / columns, inner / rows);
+        int offsetX = cellX + (CELL_SIZE - pegSize * columns) / 2;
+        int offsetY = cellY + (CELL_SIZE - pegSize * rows) / 2;
+
+        for (int i = 0; i < length; i++) {
+            Pixmap peg = i < black ? blackPeg : i < black + white ? whitePeg : emptyPeg;
+            int x = offsetX + (i % columns) * pegSize;
+            int y = offsetY + (i / columns) * pegSize;
+            atlasPixmap.drawPixmap(peg, 0, 0, PEG_SOURCE_SIZE, PEG_SOURCE_SIZE, x + 1, y + 1, pegSize - 2, pegSize - 2);
+        }
+    }
+
+    /**
+     * Shaded round peg: the one shape every glyph is composited from
+     */
+    private Pixmap createPeg(float r, float g, float b, float alpha, float radiusScale) {
+        Pixmap pixmap = new Pixmap(PEG_SOURCE_SIZE, PEG_SOURCE_SIZE, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+
+        float center = (PEG_SOURCE_SIZE - 1) / 2f;
+        float radius = PEG_SOURCE_SIZE / 2f * radiusScale;
+
+        for (int py = 0; py < PEG_SOURCE_SIZE; py++) {
+            for (int px = 0; px < PEG_SOURCE_SIZE; px++) {
+                float dx = px - center;
+                float dy = py - center;
+                float dist = (float) Math.sqrt(dx * dx + dy * dy) / radius;
+
+                // Antialiased edge, lit from the top left
+                float coverage = MathUtils.clamp((1f - dist) * radius, 0f, 1f);
+                float light = 1f + 0.35f * MathUtils.clamp(-(dx + dy) / (radius * 2f), -1f, 1f);
+                pixmap.drawPixel(px, py, Color.rgba8888(
+                        Math.min(1f, r * light + 0.08f * (light - 1f)),
+                        Math.min(1f, g * light + 0.08f * (light - 1f)),
+                        Math.min(1f, b * light + 0.08f * (light - 1f)),
+                        alpha * coverage));
+            }
+        }
+        return pixmap;
+    }
+
+    public int getGlyphCount() {
+        return glyphCount;
+    }
+
+    /**
+     * Get glyph cache statistics
+     */
+    public String getStats() {
+        return String.format("Peg glyphs: %d in %dx%d atlas", glyphCount, ATLAS_SIZE, ATLAS_SIZE);
+    }
+
+    public void dispose() {
+        if (atlasTexture != null) {
+            atlasTexture.dispose();
+            atlasTexture = null;
+        }
+        if (atlasPixmap != null) {
+            atlasPixmap.dispose();
+            atlasPixmap = null;
+        }
+        glyphs = null;
+        glyphCount = 0;
+    }
+}
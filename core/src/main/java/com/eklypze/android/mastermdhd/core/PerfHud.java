@@ -0,0 +1,249 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Performance HUD
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Debug overlay with frame-phase timings
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.TimeUtils;
+import java.util.Arrays;
+
+/**
+ * Toggleable overlay (F3, or a three-finger tap in debug builds or in
+ * developer mode) drawn on top of every screen: FPS, frame-time
+ * percentiles, CPU time per frame phase, GL draw calls and texture
+ * binds, heap sizes, live particles and the caches' statistics.
+ *
+ * Phases are exclusive: begin() pauses the enclosing phase, so particle
+ * drawing inside the render queue flush counts as particles, not as
+ * batch drawing. Whatever runs outside a named phase counts as update.
+ * While the HUD is hidden, begin() and end() return immediately.
+ */
+public class PerfHud {
+
+    public static final int PHASE_UPDATE = 0;
+    public static final int PHASE_INPUT = 1;
+    public static final int PHASE_BATCH = 2;
+    public static final int PHASE_SHAPES = 3;
+    public static final int PHASE_PARTICLES = 4;
+    private static final String[] PHASE_NAMES = { "update", "input", "batch", "shapes", "particles" };
+
+    private static PerfHud instance;
+
+    // Frames kept for averages and percentiles
+    private static final int WINDOW = 120;
+    private static final int MAX_DEPTH = 8;
+    private static final float TEXT_SCALE = 0.75f;
+
+    private boolean visible = false;
+    private GLProfiler profiler;
+    private BitmapFont font;
+    private final Matrix4 projection = new Matrix4();
+    private final StringBuilder text = new StringBuilder(512);
+
+    // Phase stack for the current frame
+    private final int[] stack = new int[MAX_DEPTH];
+    private int depth = 0;
+    private long mark;
+    private final long[] phaseNanos = new long[PHASE_NAMES.length];
+    private long frameStart;
+    private int frameParticles;
+
+    // Rolling history
+    private final float[][] phaseHistory = new float[PHASE_NAMES.length][WINDOW];
+    private final float[] frameHistory = new float[WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private int historyIndex = 0;
+    private int historySize = 0;
+
+    // GL counters of the last frame (without the HUD itself)
+    private int drawCalls;
+    private int textureBinds;
+    private int shaderSwitches;
+    private int particles;
+
+    private PerfHud() {
+    }
+
+    public static PerfHud getInstance() {
+        if (instance == null) {
+            instance = new PerfHud();
+        }
+        return instance;
+    }
+
+    public void toggle() {
+        setVisible(!visible);
+    }
+
+    public void setVisible(boolean visible) {
+        if (this.visible == visible) return;
+        this.visible = visible;
+
+        if (profiler == null) {
+            profiler = new GLProfiler(Gdx.graphics);
+        }
+        if (visible) {
+            profiler.enable();
+            profiler.reset();
+            historySize = 0;
+            historyIndex = 0;
+        } else {
+            profiler.disable();
+        }
+        depth = 0;
+        RenderScheduler.getInstance().requestRender();
+        Gdx.app.log("PerfHud", visible ? "Shown" : "Hidden");
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Start timing a frame (before the screen renders)
+     */
+    public void beginFrame() {
+        if (!visible) return;
+        Arrays.fill(phaseNanos, 0);
+        frameParticles = 0;
+        frameStart = TimeUtils.nanoTime();
+        mark = frameStart;
+        stack[0] = PHASE_UPDATE;
+        depth = 1;
+    }
+
+    /**
+     * Enter a phase; time until the matching end() is charged to it
+     */
+    public void begin(int phase) {
+        if (depth == 0 || depth >= MAX_DEPTH) return;
+        long now = TimeUtils.nanoTime();
+        phaseNanos[stack[depth - 1]] += now - mark;
+        mark = now;
+        stack[depth++] = phase;
+    }
+
+    public void end() {
+        if (depth <= 1) return;
+        long now = TimeUtils.nanoTime();
+        phaseNanos[stack[--depth]] += now - mark;
+        mark = now;
+    }
+
+    /**
+     * Particles alive this frame (reported by each ParticleManager)
+     */
+    public void countParticles(int count) {
+        if (depth > 0) frameParticles += count;
+    }
+
+    /**
+     * Finish timing the frame and record it
+     */
+    public void endFrame() {
+        if (depth == 0) return;
+        long now = TimeUtils.nanoTime();
+        phaseNanos[stack[0]] += now - mark;
+        depth = 0;
+
+        for (int p = 0; p < PHASE_NAMES.length; p++) {
+            phaseHistory[p][historyIndex] = phaseNanos[p] / 1000000f;
+        }
+        frameHistory[historyIndex] = (now - frameStart) / 1000000f;
+        historyIndex = (historyIndex + 1) % WINDOW;
+        historySize = Math.min(WINDOW, historySize + 1);
+        particles = frameParticles;
+
+        drawCalls = profiler.getDrawCalls();
+        textureBinds = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+    }
+
+    /**
+     * Draw the overlay on top of the frame (after endFrame)
+     */
+    public void draw(MastermindHDGame game) {
+        if (!visible) return;
+
+        if (font == null) {
+            font = FontManager.getInstance().newFont(Color.WHITE);
+        }
+        buildText(game);
+
+        RenderQueue queue = game.renderQueue;
+        SpriteBatch batch = game.batch;
+        projection.setToOrtho2D(0, 0, MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
+        batch.setProjectionMatrix(projection);
+
+        float top = MastermindHDGame.GAME_HEIGHT - 4;
+        int lines = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') lines++;
+        }
+        FontManager.getInstance().setScale(font, TEXT_SCALE);
+        float height = lines * font.getLineHeight() + 8;
+        queue.rect(RenderQueue.LAYER_OVERLAY, 0, top - height, MastermindHDGame.GAME_WIDTH, height + 4, 0, 0, 0, 0.7f);
+        queue.text(RenderQueue.LAYER_OVERLAY, font, text, 6, top);
+        queue.flush(batch);
+
+        // The HUD's own draw calls are not part of the next frame's numbers
+        profiler.reset();
+    }
+
+    private void buildText(MastermindHDGame game) {
+        text.setLength(0);
+
+        System.arraycopy(frameHistory, 0, sorted, 0, historySize);
+        Arrays.sort(sorted, 0, historySize);
+        text.append(String.format("FPS %d | frame p50 %.1f p90 %.1f p99 %.1f max %.1fms",
+                Gdx.graphics.getFramesPerSecond(), percentile(0.5f), percentile(0.9f),
+                percentile(0.99f), historySize == 0 ? 0 : sorted[historySize - 1]));
+
+        text.append("\nCPU ms: ");
+        for (int p = 0; p < PHASE_NAMES.length; p++) {
+            if (p > 0) text.append(" | ");
+            text.append(PHASE_NAMES[p]).append(String.format(" %.2f", average(phaseHistory[p])));
+        }
+
+        text.append(String.format("\nGL: %d draw calls | %d texture binds | %d shader switches",
+                drawCalls, textureBinds, shaderSwitches));
+        text.append(String.format("\nHeap: java %.1fMB | native %.1fMB | particles %d",
+                Gdx.app.getJavaHeap() / 1048576f, Gdx.app.getNativeHeap() / 1048576f, particles));
+        text.append('\n').append(AssetCache.getInstance().getStats());
+        text.append('\n').append(game.renderQueue.getStats());
+        text.append('\n').append(game.input.getStats());
+        text.append('\n').append(SoundManager.getInstance().getStats());
+        text.append('\n').append(QualityController.getInstance().getStats());
+        text.append('\n').append(TraceRecorder.getInstance().getStats());
+        text.append('\n').append(MetricsRegistry.getInstance().getStats());
+    }
+
+    private float percentile(float p) {
+        if (historySize == 0) return 0;
+        return sorted[Math.min(historySize - 1, (int) (p * historySize))];
+    }
+
+    private float average(float[] values) {
+        if (historySize == 0) return 0;
+        float sum = 0;
+        for (int i = 0; i < historySize; i++) {
+            sum += values[i];
+        }
+        return sum / historySize;
+    }
+
+    public void dispose() {
+        if (profiler != null) {
+            profiler.disable();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Prefetch Scheduler
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Speculative preparation of upcoming screens
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Prepares the screens a level is about to lead to while the player is
+ * still thinking. Work is split into small steps and run at the end of
+ * a frame, a few milliseconds at a time, so gameplay frames are never
+ * stretched. Everything prepared here is simply reused (or dropped) by
+ * ScreenManager, so a wrong guess costs nothing but the work itself.
+ */
+public class PrefetchScheduler {
+    private static PrefetchScheduler instance;
+
+    // Time per frame that may be spent on prefetch steps
+    private static final long BUDGET_NANOS = 2000000L;
+
+    // Frames slower than this are left alone (continuous rendering only)
+    private static final float SLOW_FRAME_SECONDS = 1f / 30f;
+
+    private final Array<Runnable> steps = new Array<>();
+    private int preparedLevel = -1;
+
+    private int stepsRun = 0;
+    private int framesSkipped = 0;
+
+    private PrefetchScheduler() {
+    }
+
+    public static PrefetchScheduler getInstance() {
+        if (instance == null) {
+            instance = new PrefetchScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue everything needed after the given level ends (once per attempt)
+     */
+    public void prefetchResults(final MastermindHDGame game, Level level) {
+        if (preparedLevel == level.getLevelNumber()) return;
+        preparedLevel = level.getLevelNumber();
+
+        steps.add(() -> AssetCache.getInstance().getTexture("gfx/gameover_lose.png"));
+        steps.add(() -> game.screens.prefetch(LoseScreen.class));
+        steps.add(() -> game.screens.prefetch(WinScreen.class));
+        steps.add(() -> game.screens.prefetchWinEffects());
+
+        LevelManager levels = LevelManager.getInstance();
+        if (level.getLevelNumber() < levels.getTotalLevels()) {
+            final Level next = levels.getLevel(level.getLevelNumber() + 1);
+            steps.add(() -> game.screens.prefetchGame(next));
+        } else {
+            // Only an endless stage that is already graded; never generate one here
+            final Level next = EndlessMode.getInstance().peekAfter(level);
+            if (next != null) {
+                steps.add(() -> game.screens.prefetchGame(next));
+            }
+        }
+
+        Gdx.app.log("PrefetchScheduler", "Preparing results for level " + level.getLevelNumber());
+        RenderScheduler.getInstance().requestRender();
+    }
+
+    /**
+     * Run queued steps within the frame budget. Called after rendering.
+     */
+    public void update(float delta) {
+        if (steps.size == 0) return;
+
+        RenderScheduler scheduler = RenderScheduler.getInstance();
+        if (scheduler.isContinuous() && delta > SLOW_FRAME_SECONDS) {
+            framesSkipped++;
+            scheduler.requestRender();
+            return;
+        }
+
+        long start = System.nanoTime();
+        do {
+            steps.removeIndex(0).run();
+            stepsRun++;
+        } while (steps.size > 0 && System.nanoTime() - start < BUDGET_NANOS);
+
+        // Keep frames coming until the queue drains, even when idle
+        if (steps.size > 0) {
+            scheduler.requestRender();
+        }
+    }
+
+    /**
+     * Drop pending work (a new attempt has started)
+     */
+    public void cancel() {
+        steps.clear();
+        preparedLevel = -1;
+    }
+
+    public boolean isIdle() {
+        return steps.size == 0;
+    }
+
+    /**
+     * Get prefetch statistics
+     */
+    public String getStats() {
+        return String.format("Prefetch: %d pending | %d steps run | %d frames skipped",
+                steps.size, stepsRun, framesSkipped);
+    }
+}
@@ -0,0 +1,61 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Progress Bar Widget
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Bordered horizontal progress bar
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Background, fill and a white border; the fill width is only
+ * recomputed when the progress changes.
+ */
+public class ProgressBarWidget extends Widget {
+
+    private static final float BORDER = 2f;
+
+    private final Color backgroundColor = new Color(0.2f, 0.2f, 0.2f, 1f);
+    private final Color fillColor = new Color(0.2f, 0.7f, 0.2f, 1f);
+    private float progress = 0;
+    private float fillWidth = 0;
+
+    public ProgressBarWidget setColors(Color background, Color fill) {
+        backgroundColor.set(background);
+        fillColor.set(fill);
+        return this;
+    }
+
+    /**
+     * Progress in [0, 1]
+     */
+    public ProgressBarWidget setProgress(float value) {
+        value = Math.max(0, Math.min(1, value));
+        if (progress != value) {
+            progress = value;
+            invalidate();
+        }
+        return this;
+    }
+
+    public float getProgress() {
+        return progress;
+    }
+
+    @Override
+    protected void layout() {
+        fillWidth = (bounds.width - BORDER * 2) * progress;
+    }
+
+    @Override
+    protected void render(RenderQueue queue) {
+        queue.rect(RenderQueue.LAYER_UI, bounds.x, bounds.y, bounds.width, bounds.height, backgroundColor);
+        if (fillWidth > 0) {
+            queue.rect(RenderQueue.LAYER_UI, bounds.x + BORDER, bounds.y + BORDER,
+                    fillWidth, bounds.height - BORDER * 2, fillColor);
+        }
+        queue.rectLine(RenderQueue.LAYER_UI, bounds.x, bounds.y, bounds.width, bounds.height, BORDER, Color.WHITE);
+    }
+}
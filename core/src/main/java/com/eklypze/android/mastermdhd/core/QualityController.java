@@ -0,0 +1,188 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Quality Controller
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Adaptive effect quality driven by frame time
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import java.util.Arrays;
+
+/**
+ * Watches rolling frame-time percentiles and scales visual effects
+ * down when the device can't hold its target, then back up when
+ * there is headroom again.
+ */
+public class QualityController {
+
+    public enum Quality {
+        LOW,
+        MEDIUM,
+        HIGH
+    }
+
+    private static QualityController instance;
+
+    // Rolling window of frame times
+    private static final int WINDOW_SIZE = 120;
+    private static final int EVALUATE_EVERY = 60;
+
+    // Target and thresholds (seconds)
+    private static final float TARGET_FRAME_TIME = 1f / 60f;
+    private static final float DOWNGRADE_THRESHOLD = TARGET_FRAME_TIME * 1.25f;
+    private static final float UPGRADE_THRESHOLD = TARGET_FRAME_TIME * 0.85f;
+
+    // Frames longer than this are stalls (loading, app resume), not load
+    private static final float MAX_SAMPLE = 0.25f;
+
+    // Consecutive good evaluations needed before stepping back up
+    private static final int UPGRADE_PATIENCE = 3;
+
+    private final float[] frameTimes = new float[WINDOW_SIZE];
+    private final float[] sorted = new float[WINDOW_SIZE];
+    private int sampleCount = 0;
+    private int writeIndex = 0;
+    private int framesSinceEvaluation = 0;
+    private int goodEvaluations = 0;
+
+    private Quality quality = Quality.HIGH;
+    private float p50 = 0;
+    private float p90 = 0;
+
+    private QualityController() {
+    }
+
+    public static QualityController getInstance() {
+        if (instance == null) {
+            instance = new QualityController();
+        }
+        return instance;
+    }
+
+    /**
+     * Record the duration of the last frame (seconds)
+     */
+    public void recordFrame(float delta) {
+        if (delta <= 0 || delta > MAX_SAMPLE) return;
+
+        frameTimes[writeIndex] = delta;
+        writeIndex = (writeIndex + 1) % WINDOW_SIZE;
+        if (sampleCount < WINDOW_SIZE) {
+            sampleCount++;
+        }
+
+        framesSinceEvaluation++;
+        if (framesSinceEvaluation >= EVALUATE_EVERY && sampleCount == WINDOW_SIZE) {
+            framesSinceEvaluation = 0;
+            evaluate();
+        }
+    }
+
+    /**
+     * Recompute percentiles and step quality up or down
+     */
+    private void evaluate() {
+        System.arraycopy(frameTimes, 0, sorted, 0, WINDOW_SIZE);
+        Arrays.sort(sorted);
+        p50 = sorted[WINDOW_SIZE / 2];
+        p90 = sorted[(WINDOW_SIZE * 9) / 10];
+
+        if (p90 > DOWNGRADE_THRESHOLD) {
+            goodEvaluations = 0;
+            if (quality != Quality.LOW) {
+                setQuality(Quality.values()[quality.ordinal() - 1]);
+            }
+        } else if (p90 < UPGRADE_THRESHOLD) {
+            goodEvaluations++;
+            if (goodEvaluations >= UPGRADE_PATIENCE && quality != Quality.HIGH) {
+                goodEvaluations = 0;
+                setQuality(Quality.values()[quality.ordinal() + 1]);
+            }
+        } else {
+            goodEvaluations = 0;
+        }
+    }
+
+    /**
+     * Force a quality level (also used internally on each step)
+     */
+    public void setQuality(Quality newQuality) {
+        if (newQuality == quality) return;
+
+        quality = newQuality;
+        resetWindow();
+        AssetCache.getInstance().applyTextureFilter(getTextureFilter());
+        Gdx.app.log("QualityController", String.format("Quality -> %s (p50 %.1fms, p90 %.1fms)",
+                quality, p50 * 1000, p90 * 1000));
+    }
+
+    /**
+     * Forget collected samples (e.g. after a long idle period)
+     */
+    public void resetWindow() {
+        sampleCount = 0;
+        writeIndex = 0;
+        framesSinceEvaluation = 0;
+    }
+
+    public Quality getQuality() {
+        return quality;
+    }
+
+    /**
+     * Multiplier applied to particle spawn counts
+     */
+    public float getParticleScale() {
+        switch (quality) {
+            case LOW: return 0.3f;
+            case MEDIUM: return 0.6f;
+            default: return 1.0f;
+        }
+    }
+
+    /**
+     * Scale a particle count, never dropping a burst to zero
+     */
+    public int scaleParticleCount(int count) {
+        return Math.max(1, Math.round(count * getParticleScale()));
+    }
+
+    /**
+     * Multiplier applied to periodic effect intervals (bigger = rarer)
+     */
+    public float getEffectIntervalScale() {
+        switch (quality) {
+            case LOW: return 3.0f;
+            case MEDIUM: return 1.5f;
+            default: return 1.0f;
+        }
+    }
+
+    /**
+     * Whether continuous blink/pulse animations should run
+     */
+    public boolean areAnimatedEffectsEnabled() {
+        return quality != Quality.LOW;
+    }
+
+    /**
+     * Texture filter to use for cached textures
+     */
+    public Texture.TextureFilter getTextureFilter() {
+        return quality == Quality.LOW ? Texture.TextureFilter.Nearest : Texture.TextureFilter.Linear;
+    }
+
+    public float getP50() { return p50; }
+    public float getP90() { return p90; }
+
+    /**
+     * Get controller statistics
+     */
+    public String getStats() {
+        return String.format("Quality: %s | p50: %.1fms | p90: %.1fms",
+                quality, p50 * 1000, p90 * 1000);
+    }
+}
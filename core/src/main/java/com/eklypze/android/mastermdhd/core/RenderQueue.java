@@ -0,0 +1,397 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Render Queue
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Layered draw queue flushed through one SpriteBatch
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import java.util.Arrays;
+
+/**
+ * Collects a screen's draw commands for one frame, sorts them by
+ * layer and texture, then draws them inside a single batch begin/end.
+ * Shapes are drawn as quads from a white pixel, so buttons no longer
+ * need a ShapeRenderer pass between sprite passes. Text from the
+ * distance-field font atlas is drawn with its own shader; text is
+ * grouped by texture, so that is one shader switch per run of text.
+ */
+public class RenderQueue implements Disposable {
+
+    // Layers (drawn back to front)
+    public static final int LAYER_BACKGROUND = 0;
+    public static final int LAYER_WORLD = 1;
+    public static final int LAYER_UI = 2;
+    public static final int LAYER_TEXT = 3;
+    public static final int LAYER_EFFECTS = 4;
+    public static final int LAYER_OVERLAY = 5;
+
+    /**
+     * Custom draw step (particles, cached layers...) run inside the batch
+     */
+    public interface Drawable {
+        void draw(SpriteBatch batch);
+    }
+
+    private static final String DISTANCE_FIELD_VERTEX =
+            "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    // Edge width comes from screen-space derivatives, so text of mixed
+    // sizes needs no per-scale uniform (and no batch flush between sizes)
+    private static final String DISTANCE_FIELD_FRAGMENT =
+            "#ifdef GL_ES\n"
+            + "#extension GL_OES_standard_derivatives : enable\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "uniform sampler2D u_texture;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    float distance = texture2D(u_texture, v_texCoords).a;\n"
+            + "    float smoothing = fwidth(distance) * 0.7;\n"
+            + "    float alpha = smoothstep(0.5 - smoothing, 0.5 + smoothing, distance);\n"
+            + "    gl_FragColor = vec4(v_color.rgb, v_color.a * alpha);\n"
+            + "}\n";
+
+    private static final int KIND_QUAD = 0;
+    private static final int KIND_TEXT = 1;
+    private static final int KIND_CUSTOM = 2;
+
+    private static final int INITIAL_COMMANDS = 1024;
+    private static final int SEQUENCE_BITS = 20;
+    private static final int TEXTURE_BITS = 20;
+    // The sequence number must fit in its sort key bits
+    private static final int MAX_COMMANDS = 1 << SEQUENCE_BITS;
+
+    // Command storage (parallel arrays, reused every frame; doubled when a frame fills them)
+    private int[] kinds = new int[INITIAL_COMMANDS];
+    private TextureRegion[] regions = new TextureRegion[INITIAL_COMMANDS];
+    private BitmapFont[] fonts = new BitmapFont[INITIAL_COMMANDS];
+    private CharSequence[] texts = new CharSequence[INITIAL_COMMANDS];
+    private Drawable[] customs = new Drawable[INITIAL_COMMANDS];
+    private float[] x = new float[INITIAL_COMMANDS];
+    private float[] y = new float[INITIAL_COMMANDS];
+    private float[] width = new float[INITIAL_COMMANDS];
+    private float[] height = new float[INITIAL_COMMANDS];
+    private float[] colors = new float[INITIAL_COMMANDS];
+    private long[] sortKeys = new long[INITIAL_COMMANDS];
+    private int count = 0;
+
+    // Textures seen this frame, in first-use order (used as sort ids)
+    private final Array<Object> textureOrder = new Array<>(false, 16);
+
+    // Shared with the particles (AssetCache owns the texture)
+    private final TextureRegion whitePixel;
+    private ShaderProgram distanceFieldShader;
+    private final Color tmpColor = new Color();
+
+    // Instrumentation
+    private int lastFlushes = 0;
+    private int lastCommands = 0;
+    private int lastTextureSwitches = 0;
+    private long totalFlushes = 0;
+    private long frames = 0;
+    private long dropped = 0;
+
+    public RenderQueue() {
+        whitePixel = AssetCache.getInstance().getWhitePixel();
+
+        distanceFieldShader = new ShaderProgram(DISTANCE_FIELD_VERTEX, DISTANCE_FIELD_FRAGMENT);
+        if (!distanceFieldShader.isCompiled()) {
+            Gdx.app.error("RenderQueue", "Distance-field shader failed: " + distanceFieldShader.getLog());
+            distanceFieldShader.dispose();
+            distanceFieldShader = null;
+            FontManager.getInstance().setDistanceFieldSupported(false);
+        }
+    }
+
+    /**
+     * Queue a texture region with an explicit packed colour
+     */
+    public void draw(int layer, TextureRegion region, float px, float py, float w, float h, float packedColor) {
+        int i = add(layer, KIND_QUAD, region.getTexture());
+        if (i < 0) return;
+        regions[i] = region;
+        x[i] = px;
+        y[i] = py;
+        width[i] = w;
+        height[i] = h;
+        colors[i] = packedColor;
+    }
+
+    /**
+     * Queue a texture region drawn untinted
+     */
+    public void draw(int layer, TextureRegion region, float px, float py, float w, float h) {
+        draw(layer, region, px, py, w, h, Color.WHITE_FLOAT_BITS);
+    }
+
+    /**
+     * Queue a sprite using its current position, size and colour
+     */
+    public void sprite(int layer, Sprite sprite) {
+        draw(layer, sprite, sprite.getX(), sprite.getY(), sprite.getWidth(), sprite.getHeight(),
+                sprite.getColor().toFloatBits());
+    }
+
+    /**
+     * Queue a filled rectangle
+     */
+    public void rect(int layer, float px, float py, float w, float h, float r, float g, float b, float a) {
+        draw(layer, whitePixel, px, py, w, h, Color.toFloatBits(r, g, b, a));
+    }
+
+    public void rect(int layer, Rectangle bounds, float r, float g, float b, float a) {
+        rect(layer, bounds.x, bounds.y, bounds.width, bounds.height, r, g, b, a);
+    }
+
+    public void rect(int layer, float px, float py, float w, float h, Color color) {
+        rect(layer, px, py, w, h, color.r, color.g, color.b, color.a);
+    }
+
+    /**
+     * Queue a rectangle outline made of four thin quads
+     */
+    public void rectLine(int layer, float px, float py, float w, float h, float thickness, Color color) {
+        rect(layer, px, py, w, thickness, color);
+        rect(layer, px, py + h - thickness, w, thickness, color);
+        rect(layer, px, py + thickness, thickness, h - thickness * 2, color);
+        rect(layer, px + w - thickness, py + thickness, thickness, h - thickness * 2, color);
+    }
+
+    /**
+     * Queue text using the font's current scale and colour
+     */
+    public void text(int layer, BitmapFont font, CharSequence text, float px, float py) {
+        int i = add(layer, KIND_TEXT, font.getRegion().getTexture());
+        if (i < 0) return;
+        fonts[i] = font;
+        texts[i] = text;
+        x[i] = px;
+        y[i] = py;
+        width[i] = font.getData().scaleX;
+        height[i] = font.getData().scaleY;
+        colors[i] = font.getColor().toFloatBits();
+    }
+
+    /**
+     * Queue a cached label; sorted with other text from the same font
+     */
+    public void text(int layer, HudText text) {
+        int i = add(layer, KIND_CUSTOM, text.getTexture());
+        if (i < 0) return;
+        customs[i] = text;
+    }
+
+    /**
+     * Queue a custom draw step
+     */
+    public void custom(int layer, Drawable drawable) {
+        int i = add(layer, KIND_CUSTOM, drawable);
+        if (i < 0) return;
+        customs[i] = drawable;
+    }
+
+    private int add(int layer, int kind, Object texture) {
+        if (count >= kinds.length) {
+            if (count >= MAX_COMMANDS) {
+                dropped++;
+                return -1;
+            }
+            grow();
+        }
+
+        int textureId = textureOrder.indexOf(texture, true);
+        if (textureId < 0) {
+            textureId = textureOrder.size;
+            textureOrder.add(texture);
+        }
+
+        int i = count++;
+        kinds[i] = kind;
+        sortKeys[i] = ((long) layer << (TEXTURE_BITS + SEQUENCE_BITS))
+                | ((long) textureId << SEQUENCE_BITS)
+                | i;
+        return i;
+    }
+
+    private void grow() {
+        int capacity = Math.min(kinds.length * 2, MAX_COMMANDS);
+        kinds = Arrays.copyOf(kinds, capacity);
+        regions = Arrays.copyOf(regions, capacity);
+        fonts = Arrays.copyOf(fonts, capacity);
+        texts = Arrays.copyOf(texts, capacity);
+        customs = Arrays.copyOf(customs, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        sortKeys = Arrays.copyOf(sortKeys, capacity);
+        Gdx.app.log("RenderQueue", "Grew to " + capacity + " commands");
+    }
+
+    /**
+     * Sort and draw everything queued this frame in one batch pass
+     */
+    public void flush(SpriteBatch batch) {
+        lastCommands = count;
+        lastTextureSwitches = 0;
+
+        Arrays.sort(sortKeys, 0, count);
+
+        // Quads of the white pixel are shapes; they are timed as their own phase
+        PerfHud hud = PerfHud.getInstance();
+        hud.begin(PerfHud.PHASE_BATCH);
+        boolean inShapes = false;
+
+        float batchColor = batch.getPackedColor();
+        batch.begin();
+
+        Texture fontTexture = distanceFieldShader == null ? null : FontManager.getInstance().getDistanceFieldTexture();
+        boolean fontShader = false;
+
+        long previousTexture = -1;
+        for (int n = 0; n < count; n++) {
+            long key = sortKeys[n];
+            int i = (int) (key & ((1L << SEQUENCE_BITS) - 1));
+            long texture = (key >>> SEQUENCE_BITS) & ((1L << TEXTURE_BITS) - 1);
+            if (texture != previousTexture) {
+                lastTextureSwitches++;
+                previousTexture = texture;
+
+                boolean isFont = fontTexture != null && textureOrder.get((int) texture) == fontTexture;
+                if (isFont != fontShader) {
+                    batch.setShader(isFont ? distanceFieldShader : null);
+                    fontShader = isFont;
+                }
+            }
+
+            boolean isShape = kinds[i] == KIND_QUAD && regions[i] == whitePixel;
+            if (isShape != inShapes) {
+                if (isShape) {
+                    hud.begin(PerfHud.PHASE_SHAPES);
+                } else {
+                    hud.end();
+                }
+                inShapes = isShape;
+            }
+
+            switch (kinds[i]) {
+                case KIND_QUAD:
+                    batch.setPackedColor(colors[i]);
+                    batch.draw(regions[i], x[i], y[i], width[i], height[i]);
+                    break;
+                case KIND_TEXT:
+                    drawText(batch, i);
+                    break;
+                case KIND_CUSTOM:
+                    batch.setPackedColor(batchColor);
+                    customs[i].draw(batch);
+                    break;
+            }
+        }
+
+        if (fontShader) {
+            batch.setShader(null);
+        }
+        batch.setPackedColor(batchColor);
+        batch.end();
+        if (inShapes) {
+            hud.end();
+        }
+        hud.end();
+
+        lastFlushes = batch.renderCalls;
+        totalFlushes += lastFlushes;
+        frames++;
+
+        clear();
+    }
+
+    private void drawText(SpriteBatch batch, int i) {
+        BitmapFont font = fonts[i];
+        float scaleX = font.getData().scaleX;
+        float scaleY = font.getData().scaleY;
+        tmpColor.set(font.getColor());
+
+        font.getData().setScale(width[i], height[i]);
+        Color.abgr8888ToColor(font.getColor(), colors[i]);
+        font.draw(batch, texts[i], x[i], y[i]);
+
+        font.getData().setScale(scaleX, scaleY);
+        font.setColor(tmpColor);
+    }
+
+    /**
+     * Drop queued commands without drawing them
+     */
+    public void clear() {
+        Arrays.fill(regions, 0, count, null);
+        Arrays.fill(fonts, 0, count, null);
+        Arrays.fill(texts, 0, count, null);
+        Arrays.fill(customs, 0, count, null);
+        textureOrder.clear();
+        count = 0;
+    }
+
+    public TextureRegion getWhitePixel() {
+        return whitePixel;
+    }
+
+    /**
+     * Batch flushes (draw calls) in the last frame
+     */
+    public int getLastFlushes() {
+        return lastFlushes;
+    }
+
+    public int getLastCommands() {
+        return lastCommands;
+    }
+
+    public int getLastTextureSwitches() {
+        return lastTextureSwitches;
+    }
+
+    /**
+     * Get queue statistics
+     */
+    public String getStats() {
+        float average = frames == 0 ? 0 : totalFlushes / (float) frames;
+        return String.format("Render queue: %d/%d commands | %d flushes | %d texture switches | avg %.1f flushes | %d dropped",
+                lastCommands, kinds.length, lastFlushes, lastTextureSwitches, average, dropped);
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+        if (distanceFieldShader != null) {
+            distanceFieldShader.dispose();
+            distanceFieldShader = null;
+        }
+    }
+}
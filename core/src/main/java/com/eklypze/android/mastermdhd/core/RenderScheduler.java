@@ -0,0 +1,146 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Render Scheduler
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: On-demand rendering when nothing is animating
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Switches libGDX between continuous and non-continuous rendering.
+ * While the current screen reports something animating, frames are
+ * drawn continuously. Otherwise frames are only drawn on input
+ * (libGDX does this automatically), on an explicit request, or when a
+ * scheduled wake-up (e.g. the next timer second) fires.
+ */
+public class RenderScheduler {
+
+    /**
+     * Implemented by screens that animate some of the time
+     */
+    public interface Animated {
+        boolean isAnimating();
+    }
+
+    private static RenderScheduler instance;
+
+    // Extra frames drawn after animation stops so the final state settles
+    private static final int SETTLE_FRAMES = 2;
+
+    private boolean enabled = true;
+    private boolean continuous = true;
+    private int settleFrames = SETTLE_FRAMES;
+    private long idleFrames = 0;
+
+    private final Timer.Task wakeTask = new Timer.Task() {
+        @Override
+        public void run() {
+            requestRender();
+        }
+    };
+
+    private RenderScheduler() {
+    }
+
+    public static RenderScheduler getInstance() {
+        if (instance == null) {
+            instance = new RenderScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Called once at the end of every frame with the current screen
+     */
+    public void frameRendered(Screen screen) {
+        boolean animating = screen instanceof Animated && ((Animated) screen).isAnimating();
+
+        if (!continuous) {
+            idleFrames++;
+        }
+
+        if (animating) {
+            settleFrames = SETTLE_FRAMES;
+            setContinuous(true);
+        } else if (settleFrames > 0) {
+            settleFrames--;
+            setContinuous(true);
+        } else {
+            setContinuous(!enabled);
+        }
+    }
+
+    /**
+     * Request a frame because visible state changed outside of input
+     */
+    public void requestRender() {
+        settleFrames = Math.max(settleFrames, 1);
+        Gdx.graphics.requestRendering();
+    }
+
+    /**
+     * Request a frame after a delay (seconds), e.g. when a clock ticks over.
+     * An earlier pending wake-up is kept.
+     */
+    public void requestRenderAfter(float seconds) {
+        if (wakeTask.isScheduled()) {
+            // Timer schedules on the nano clock, not wall-clock time
+            long now = TimeUtils.nanosToMillis(TimeUtils.nanoTime());
+            if (wakeTask.getExecuteTimeMillis() - now <= seconds * 1000) {
+                return;
+            }
+            wakeTask.cancel();
+        }
+        Timer.schedule(wakeTask, seconds);
+    }
+
+    private void setContinuous(boolean value) {
+        if (continuous == value) return;
+
+        continuous = value;
+        Gdx.graphics.setContinuousRendering(value);
+
+        if (value) {
+            // Deltas measured across an idle gap say nothing about load
+            QualityController.getInstance().resetWindow();
+        }
+    }
+
+    /**
+     * Enable or disable on-demand rendering (disabled = always continuous)
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            setContinuous(true);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isContinuous() {
+        return continuous;
+    }
+
+    /**
+     * Number of frames drawn on demand instead of continuously
+     */
+    public long getIdleFrames() {
+        return idleFrames;
+    }
+
+    /**
+     * Cancel pending wake-ups
+     */
+    public void dispose() {
+        wakeTask.cancel();
+    }
+}
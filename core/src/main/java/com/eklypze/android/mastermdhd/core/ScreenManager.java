@@ -0,0 +1,225 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Screen Manager
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Screen navigation, pooling and disposal
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Owns every screen the game creates. Menus and result screens are
+ * lightweight (their textures come from AssetCache) and are kept in a
+ * pool for reuse; game screens own a framebuffer and per-level state,
+ * so they are disposed as soon as they are left. Disposal is deferred
+ * to the end of the frame because navigation usually happens from
+ * inside the outgoing screen's render().
+ */
+public class ScreenManager implements Disposable {
+
+    private final MastermindHDGame game;
+
+    private final ObjectMap<Class<? extends Screen>, Screen> pool = new ObjectMap<>();
+    private final Array<Screen> pendingDispose = new Array<>();
+
+    // Game screen built ahead of time for "Next Level" (see PrefetchScheduler)
+    private EnhancedGameScreen prefetchedGame;
+
+    private int created = 0;
+    private int disposed = 0;
+
+    public ScreenManager(MastermindHDGame game) {
+        this.game = game;
+    }
+
+    public void showMainMenu() {
+        game.setScreen(pooled(MainMenuScreen.class));
+    }
+
+    public void showLevelSelect() {
+        game.setScreen(pooled(LevelSelectScreen.class));
+    }
+
+    public void showSettings() {
+        game.setScreen(pooled(SettingsScreen.class));
+    }
+
+    public void showStats() {
+        game.setScreen(pooled(StatsScreen.class));
+    }
+
+    public void showAbout() {
+        game.setScreen(pooled(AboutScreen.class));
+    }
+
+    /**
+     * Start a level (always a fresh screen, unless one was prefetched)
+     */
+    public void showGame(Level level) {
+        PrefetchScheduler.getInstance().cancel();
+
+        EnhancedGameScreen screen;
+        if (prefetchedGame != null && prefetchedGame.getLevel() == level) {
+            screen = prefetchedGame;
+            prefetchedGame = null;
+        } else {
+            dropPrefetchedGame();
+            screen = new EnhancedGameScreen(game, level);
+            created++;
+        }
+        game.setScreen(screen);
+    }
+
+    public void showWin(Level level, int stars, int movesUsed) {
+        WinScreen screen = pooled(WinScreen.class);
+        screen.configure(level, stars, movesUsed);
+        game.setScreen(screen);
+    }
+
+    public void showLose(Level level) {
+        LoseScreen screen = pooled(LoseScreen.class);
+        screen.configure(level);
+        game.setScreen(screen);
+    }
+
+    /**
+     * Create a pooled screen ahead of time
+     */
+    public void prefetch(Class<? extends Screen> type) {
+        pooled(type);
+    }
+
+    /**
+     * Warm the win screen's particle pool and texture
+     */
+    public void prefetchWinEffects() {
+        pooled(WinScreen.class).warmUp();
+    }
+
+    /**
+     * Build the game screen for a level that will probably be played next
+     */
+    public void prefetchGame(Level level) {
+        if (prefetchedGame != null && prefetchedGame.getLevel() == level) return;
+
+        dropPrefetchedGame();
+        prefetchedGame = new EnhancedGameScreen(game, level);
+        created++;
+    }
+
+    private void dropPrefetchedGame() {
+        if (prefetchedGame != null) {
+            prefetchedGame.dispose();
+            prefetchedGame = null;
+            disposed++;
+        }
+    }
+
+    /**
+     * Get (or create) the pooled instance of a lightweight screen
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Screen> T pooled(Class<T> type) {
+        Screen screen = pool.get(type);
+        if (screen == null) {
+            screen = create(type);
+            pool.put(type, screen);
+            created++;
+        }
+        return (T) screen;
+    }
+
+    private Screen create(Class<? extends Screen> type) {
+        if (type == MainMenuScreen.class) return new MainMenuScreen(game);
+        if (type == LevelSelectScreen.class) return new LevelSelectScreen(game);
+        if (type == SettingsScreen.class) return new SettingsScreen(game);
+        if (type == StatsScreen.class) return new StatsScreen(game);
+        if (type == AboutScreen.class) return new AboutScreen(game);
+        if (type == WinScreen.class) return new WinScreen(game);
+        if (type == LoseScreen.class) return new LoseScreen(game);
+        throw new IllegalArgumentException("Screen is not poolable: " + type.getSimpleName());
+    }
+
+    /**
+     * True if the screen is kept for reuse rather than disposed
+     */
+    public boolean isPooled(Screen screen) {
+        return screen != null && pool.get(screen.getClass()) == screen;
+    }
+
+    /**
+     * Called by the game when a screen stops being current
+     */
+    void retire(Screen screen) {
+        if (screen == null || isPooled(screen) || pendingDispose.contains(screen, true)) return;
+        pendingDispose.add(screen);
+    }
+
+    /**
+     * Dispose retired screens. Called once per frame, after rendering.
+     */
+    public void update() {
+        if (pendingDispose.size == 0) return;
+
+        for (int i = 0; i < pendingDispose.size; i++) {
+            Screen screen = pendingDispose.get(i);
+            if (screen == game.getScreen()) continue;
+            screen.dispose();
+            disposed++;
+        }
+        pendingDispose.clear();
+
+        Gdx.app.log("ScreenManager", getStats());
+    }
+
+    /**
+     * Screens currently alive (pooled + current + awaiting disposal)
+     */
+    public int getLiveScreens() {
+        return created - disposed;
+    }
+
+    /**
+     * Live GPU resources: screens plus managed textures
+     */
+    public int getLiveResources() {
+        return getLiveScreens() + Texture.getNumManagedTextures();
+    }
+
+    /**
+     * Get screen statistics
+     */
+    public String getStats() {
+        return String.format("Screens: %d live | %d pooled | %d disposed | Textures: %d managed, %d cached",
+                getLiveScreens(), pool.size, disposed,
+                Texture.getNumManagedTextures(), AssetCache.getInstance().getTextureCount());
+    }
+
+    @Override
+    public void dispose() {
+        dropPrefetchedGame();
+
+        Screen current = game.getScreen();
+        if (current != null && !isPooled(current)) {
+            retire(current);
+        }
+        for (int i = 0; i < pendingDispose.size; i++) {
+            pendingDispose.get(i).dispose();
+            disposed++;
+        }
+        pendingDispose.clear();
+
+        for (Screen screen : pool.values()) {
+            screen.dispose();
+            disposed++;
+        }
+        pool.clear();
+    }
+}
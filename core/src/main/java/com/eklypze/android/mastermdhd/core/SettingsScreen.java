@@ -14,10 +14,7 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -25,7 +22,7 @@ import com.badlogic.gdx.utils.viewport.Viewport;
 /**
  * Settings screen for game preferences
  */
-public class SettingsScreen implements Screen {
+public class SettingsScreen implements Screen, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
     private OrthographicCamera camera;
@@ -34,48 +31,44 @@ public class SettingsScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
-    private BitmapFont titleFont;
-    private ShapeRenderer shapeRenderer;
-    private GlyphLayout layout;
 
     private SoundManager soundManager;
     private GameProgress progress;
+    private LevelManager levels;
 
     // UI elements
-    private Rectangle backButton;
-    private Rectangle soundToggle;
-    private Rectangle musicToggle;
-    private Rectangle resetButton;
-    private Rectangle aboutButton;
-    private Rectangle statsButton;
-    private Rectangle feedbackButton;
+    private final WidgetGroup ui = new WidgetGroup();
+    private ButtonWidget soundToggle;
+    private ButtonWidget musicToggle;
+    private LabelWidget progressLabel;
+    private LabelWidget developerLabel;
+
+    // Hidden developer mode: tap the title this many times in a row
+    private static final int DEVELOPER_TAPS = 7;
+    private static final long TAP_GAP_NANOS = 1000000000L;
+    private static final float TITLE_BOTTOM = MastermindHDGame.GAME_HEIGHT - 70;
+    private int titleTaps = 0;
+    private long lastTitleTap = 0;
 
     public SettingsScreen(MastermindHDGame game) {
         this.game = game;
         this.soundManager = SoundManager.getInstance();
         this.progress = GameProgress.getInstance();
+        this.levels = LevelManager.getInstance();
 
         camera = new OrthographicCamera();
         viewport = new FitViewport(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT, camera);
         camera.position.set(MastermindHDGame.GAME_WIDTH / 2f, MastermindHDGame.GAME_HEIGHT / 2f, 0);
         touchPoint = new Vector3();
 
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.8f);
-
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.GOLD);
-        titleFont.getData().setScale(3.0f);
-
-        shapeRenderer = new ShapeRenderer();
-        layout = new GlyphLayout();
+        font = fonts.newFont(Color.WHITE);
 
         // Create UI elements
         float buttonWidth = 300;
@@ -84,18 +77,88 @@ public class SettingsScreen implements Screen {
         float startY = 550;
         float spacing = 80;
 
-        backButton = new Rectangle(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
-        soundToggle = new Rectangle(centerX, startY, buttonWidth, buttonHeight);
-        musicToggle = new Rectangle(centerX, startY - spacing, buttonWidth, buttonHeight);
-        aboutButton = new Rectangle(centerX, startY - spacing * 2, buttonWidth, buttonHeight);
-        statsButton = new Rectangle(centerX, startY - spacing * 3, buttonWidth, buttonHeight);
-        feedbackButton = new Rectangle(centerX, startY - spacing * 4, buttonWidth, buttonHeight);
-        resetButton = new Rectangle(centerX, startY - spacing * 5, buttonWidth, buttonHeight);
+        ui.add(new LabelWidget(font, 3.0f, Color.GOLD)).setText("SETTINGS")
+                .setLine(0, MastermindHDGame.GAME_HEIGHT - 30, MastermindHDGame.GAME_WIDTH);
+
+        ui.add(new ButtonWidget(font, 1.5f, Color.WHITE)).setText("BACK").setColor(0.7f, 0.2f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showMainMenu();
+                })
+                .setBounds(20, MastermindHDGame.GAME_HEIGHT - 70, 100, 50);
+
+        soundToggle = ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).onClick(() -> {
+            soundManager.setSoundEnabled(!soundManager.isSoundEnabled());
+            soundManager.playTap();
+            refreshToggles();
+        });
+        soundToggle.setBounds(centerX, startY, buttonWidth, buttonHeight);
+
+        musicToggle = ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).onClick(() -> {
+            soundManager.setMusicEnabled(!soundManager.isMusicEnabled());
+            soundManager.playTap();
+            refreshToggles();
+        });
+        musicToggle.setBounds(centerX, startY - spacing, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("About / Credits").setColor(0.2f, 0.5f, 0.8f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showAbout();
+                })
+                .setBounds(centerX, startY - spacing * 2, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Statistics").setColor(0.8f, 0.6f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showStats();
+                })
+                .setBounds(centerX, startY - spacing * 3, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Send Feedback").setColor(0.5f, 0.2f, 0.8f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    // Open feedback (email or web form)
+                    openFeedback();
+                })
+                .setBounds(centerX, startY - spacing * 4, buttonWidth, buttonHeight);
+
+        // Reset button (red)
+        ui.add(new ButtonWidget(font, 1.8f, Color.WHITE)).setText("Reset All Progress").setColor(0.8f, 0.2f, 0.2f, 1f)
+                .onClick(this::confirmReset)
+                .setBounds(centerX, startY - spacing * 5, buttonWidth, buttonHeight);
+
+        progressLabel = ui.add(new LabelWidget(font, 1.3f, Color.LIGHT_GRAY));
+        progressLabel.setLine(0, 80, MastermindHDGame.GAME_WIDTH);
+
+        developerLabel = ui.add(new LabelWidget(font, 1.0f, Color.ORANGE))
+                .setText("Developer mode: 3 fingers = HUD, 4 = trace");
+        developerLabel.setLine(0, 50, MastermindHDGame.GAME_WIDTH);
     }
 
     @Override
     public void show() {
         Gdx.app.log("SettingsScreen", "Settings shown");
+        refreshToggles();
+
+        progressLabel.begin()
+                .append("Progress: ").append(progress.getTotalLevelsCompleted())
+                .append('/').append(levels.getTotalLevels()).append(" levels | ")
+                .append(progress.getTotalStars()).append('/').append(levels.getTotalLevels() * 3).append(" stars | ")
+                .append(progress.getCompletionPercentage()).append("% complete");
+        progressLabel.end();
+    }
+
+    private void refreshToggles() {
+        developerLabel.setVisible(progress.isDeveloperMode());
+
+        boolean sound = soundManager.isSoundEnabled();
+        soundToggle.setText(sound ? "Sound: ON" : "Sound: OFF")
+                .setColor(sound ? 0.2f : 0.5f, sound ? 0.7f : 0.3f, 0.2f, 1f);
+
+        boolean music = soundManager.isMusicEnabled();
+        musicToggle.setText(music ? "Music: ON" : "Music: OFF")
+                .setColor(music ? 0.2f : 0.5f, music ? 0.7f : 0.3f, 0.2f, 1f);
     }
 
     @Override
@@ -109,134 +172,46 @@ public class SettingsScreen implements Screen {
         handleInput();
 
         // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
-
-        // Draw buttons
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        // Back button
-        shapeRenderer.setColor(0.7f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(backButton.x, backButton.y, backButton.width, backButton.height);
-
-        // Sound toggle
-        shapeRenderer.setColor(soundManager.isSoundEnabled() ? 0.2f : 0.5f,
-                               soundManager.isSoundEnabled() ? 0.7f : 0.3f,
-                               0.2f, 1f);
-        shapeRenderer.rect(soundToggle.x, soundToggle.y, soundToggle.width, soundToggle.height);
-
-        // Music toggle
-        shapeRenderer.setColor(soundManager.isMusicEnabled() ? 0.2f : 0.5f,
-                               soundManager.isMusicEnabled() ? 0.7f : 0.3f,
-                               0.2f, 1f);
-        shapeRenderer.rect(musicToggle.x, musicToggle.y, musicToggle.width, musicToggle.height);
-
-        // About button
-        shapeRenderer.setColor(0.2f, 0.5f, 0.8f, 1f);
-        shapeRenderer.rect(aboutButton.x, aboutButton.y, aboutButton.width, aboutButton.height);
-
-        // Stats button
-        shapeRenderer.setColor(0.8f, 0.6f, 0.2f, 1f);
-        shapeRenderer.rect(statsButton.x, statsButton.y, statsButton.width, statsButton.height);
-
-        // Feedback button
-        shapeRenderer.setColor(0.5f, 0.2f, 0.8f, 1f);
-        shapeRenderer.rect(feedbackButton.x, feedbackButton.y, feedbackButton.width, feedbackButton.height);
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
 
-        // Reset button (red)
-        shapeRenderer.setColor(0.8f, 0.2f, 0.2f, 1f);
-        shapeRenderer.rect(resetButton.x, resetButton.y, resetButton.width, resetButton.height);
-
-        shapeRenderer.end();
-
-        // Draw text
-        game.batch.begin();
-
-        // Title
-        titleFont.getData().setScale(3.0f);
-        layout.setText(titleFont, "SETTINGS");
-        titleFont.draw(game.batch, "SETTINGS",
-                (MastermindHDGame.GAME_WIDTH - layout.width) / 2,
-                MastermindHDGame.GAME_HEIGHT - 30);
-
-        // Back button
-        font.getData().setScale(1.5f);
-        layout.setText(font, "BACK");
-        font.draw(game.batch, "BACK",
-                backButton.x + (backButton.width - layout.width) / 2,
-                backButton.y + (backButton.height + layout.height) / 2);
-
-        // Button text
-        font.getData().setScale(2.0f);
-        String soundText = "Sound: " + (soundManager.isSoundEnabled() ? "ON" : "OFF");
-        drawCenteredText(soundText, soundToggle);
-
-        String musicText = "Music: " + (soundManager.isMusicEnabled() ? "ON" : "OFF");
-        drawCenteredText(musicText, musicToggle);
-
-        drawCenteredText("About / Credits", aboutButton);
-        drawCenteredText("Statistics", statsButton);
-        drawCenteredText("Send Feedback", feedbackButton);
-
-        font.getData().setScale(1.8f);
-        drawCenteredText("Reset All Progress", resetButton);
-
-        // Stats
-        font.getData().setScale(1.3f);
-        font.setColor(Color.LIGHT_GRAY);
-        String stats = String.format("Progress: %d/%d levels | %d/300 stars | %d%% complete",
-                progress.getTotalLevelsCompleted(),
-                100,
-                progress.getTotalStars(),
-                progress.getCompletionPercentage());
-        layout.setText(font, stats);
-        font.draw(game.batch, stats, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 80);
-
-        font.setColor(Color.WHITE);
-
-        game.batch.end();
-    }
+        ui.draw(game.renderQueue);
 
-    private void drawCenteredText(String text, Rectangle button) {
-        layout.setText(font, text);
-        float x = button.x + (button.width - layout.width) / 2;
-        float y = button.y + (button.height + layout.height) / 2;
-        font.draw(game.batch, text, x, y);
+        game.renderQueue.flush(game.batch);
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (backButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new MainMenuScreen(game));
-            } else if (soundToggle.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.setSoundEnabled(!soundManager.isSoundEnabled());
-                soundManager.playTap();
-            } else if (musicToggle.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.setMusicEnabled(!soundManager.isMusicEnabled());
-                soundManager.playTap();
-            } else if (aboutButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new AboutScreen(game));
-            } else if (statsButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new StatsScreen(game));
-            } else if (feedbackButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                // Open feedback (email or web form)
-                openFeedback();
-            } else if (resetButton.contains(touchPoint.x, touchPoint.y)) {
-                // Confirm reset
-                confirmReset();
+        game.input.process(this);
+    }
+
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        if (ui.touch(touchPoint.x, touchPoint.y)) {
+            titleTaps = 0;
+            return;
+        }
+
+        if (touchPoint.y >= TITLE_BOTTOM) {
+            titleTaps = event.timeNanos - lastTitleTap <= TAP_GAP_NANOS ? titleTaps + 1 : 1;
+            lastTitleTap = event.timeNanos;
+            if (titleTaps == DEVELOPER_TAPS) {
+                titleTaps = 0;
+                toggleDeveloperMode();
             }
+        } else {
+            titleTaps = 0;
         }
     }
 
+    private void toggleDeveloperMode() {
+        boolean enabled = !progress.isDeveloperMode();
+        progress.setDeveloperMode(enabled);
+        soundManager.playTap();
+        refreshToggles();
+        Gdx.app.log("Settings", "Developer mode " + (enabled ? "on" : "off"));
+    }
+
     private void openFeedback() {
         // In a real app, this would open an email client or web form
         String email = "feedback@mastermind-hd.example";
@@ -273,10 +248,5 @@ public class SettingsScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
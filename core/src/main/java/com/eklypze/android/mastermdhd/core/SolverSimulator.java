@@ -0,0 +1,134 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Solver Simulator
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Simulated play used to grade generated levels
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import java.util.Random;
+
+/**
+ * Plays Mastermind against itself for one code configuration. The
+ * simulated player always guesses a random code that is still consistent
+ * with every earlier feedback, which is close to how a careful human
+ * plays; the number of guesses it needs is the measure of difficulty.
+ *
+ * Building the simulator enumerates every possible code (up to 8^6), so
+ * create it off the render thread. Not thread-safe.
+ */
+public class SolverSimulator {
+
+    private final int numColors;
+    private final int codeLength;
+    private final int codeCount;
+
+    // Digits of every possible code, codeLength bytes per code
+    private final byte[] codes;
+    private final int[] remaining;
+    private final int[] colorCountsA;
+    private final int[] colorCountsB;
+
+    public SolverSimulator(int numColors, int codeLength, boolean allowDuplicates) {
+        this.numColors = numColors;
+        this.codeLength = codeLength;
+
+        int total = 1;
+        for (int i = 0; i < codeLength; i++) {
+            total *= numColors;
+        }
+
+        byte[] all = new byte[total * codeLength];
+        int count = 0;
+        for (int value = 0; value < total; value++) {
+            int rest = value;
+            int offset = count * codeLength;
+            int usedMask = 0;
+            boolean valid = true;
+            for (int i = 0; i < codeLength; i++) {
+                int color = rest % numColors;
+                rest /= numColors;
+                if (!allowDuplicates && (usedMask & (1 << color)) != 0) {
+                    valid = false;
+                    break;
+                }
+                usedMask |= 1 << color;
+                all[offset + i] = (byte) color;
+            }
+            if (valid) count++;
+        }
+
+        codeCount = count;
+        if (count == total) {
+            codes = all;
+        } else {
+            codes = new byte[count * codeLength];
+            System.arraycopy(all, 0, codes, 0, codes.length);
+        }
+        remaining = new int[count];
+        colorCountsA = new int[numColors];
+        colorCountsB = new int[numColors];
+    }
+
+    /**
+     * Play one game against a random secret; returns the number of guesses
+     * used, or maxGuesses + 1 if it was not solved within maxGuesses
+     */
+    public int play(Random random, int maxGuesses) {
+        int secret = random.nextInt(codeCount);
+        int size = codeCount;
+        for (int i = 0; i < size; i++) {
+            remaining[i] = i;
+        }
+
+        int solved = codeLength * (codeLength + 1);
+        for (int guessCount = 1; guessCount <= maxGuesses; guessCount++) {
+            int guess = remaining[random.nextInt(size)];
+            int feedback = feedback(guess, secret);
+            if (feedback == solved) return guessCount;
+
+            // Keep only codes that would have produced the same feedback
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (feedback(remaining[i], guess) == feedback) {
+                    remaining[kept++] = remaining[i];
+                }
+            }
+            size = kept;
+        }
+        return maxGuesses + 1;
+    }
+
+    /**
+     * Feedback between two codes packed as black * (codeLength + 1) + white
+     */
+    private int feedback(int a, int b) {
+        int offsetA = a * codeLength;
+        int offsetB = b * codeLength;
+        int black = 0;
+        for (int c = 0; c < numColors; c++) {
+            colorCountsA[c] = 0;
+            colorCountsB[c] = 0;
+        }
+        for (int i = 0; i < codeLength; i++) {
+            byte colorA = codes[offsetA + i];
+            byte colorB = codes[offsetB + i];
+            if (colorA == colorB) {
+                black++;
+            } else {
+                colorCountsA[colorA]++;
+                colorCountsB[colorB]++;
+            }
+        }
+        int white = 0;
+        for (int c = 0; c < numColors; c++) {
+            white += Math.min(colorCountsA[c], colorCountsB[c]);
+        }
+        return black * (codeLength + 1) + white;
+    }
+
+    public int getCodeCount() {
+        return codeCount;
+    }
+}
@@ -10,18 +10,95 @@ package com.eklypze.android.mastermdhd.core;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.audio.Music;
-import java.util.HashMap;
-import java.util.Map;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
 
 /**
- * Manages all game sounds and music
+ * Manages all game sounds and music.
+ *
+ * Sounds are registered by name up front but decoded on a background
+ * thread, most frequently heard first, so creating the manager never
+ * blocks the render thread. A sound played before it has loaded is
+ * held briefly and played when it arrives (or dropped if it would be
+ * late), and asking for it moves it to the front of the load queue.
+ * Effects without an asset file fall back to SoundSynth where it has a
+ * recipe. Every play goes through a VoicePool, which merges repeats and keeps
+ * the number of simultaneous voices bounded.
  */
 public class SoundManager {
 
     private static SoundManager instance;
+    private static final int SPAN_LOAD = TraceRecorder.name("SoundManager.loadEntry");
+
+    // Load order: UI feedback first, end-of-level stingers last.
+    // Priority, cooldown (ms) and approximate length (ms) feed the VoicePool.
+    private static final SoundEntry[] SOUND_FILES = {
+            new SoundEntry("button", "sounds/button.mp3", VoicePool.PRIORITY_NORMAL, 60, 300),
+            new SoundEntry("tap", "sounds/tap.mp3", VoicePool.PRIORITY_LOW, 50, 200),
+            new SoundEntry("select", "sounds/select.mp3", VoicePool.PRIORITY_NORMAL, 60, 400),
+            new SoundEntry("whoosh", "sounds/whoosh.mp3", VoicePool.PRIORITY_LOW, 150, 600),
+            new SoundEntry("place", "sounds/place.mp3", VoicePool.PRIORITY_NORMAL, 40, 250),
+            new SoundEntry("hint", "sounds/hint.mp3", VoicePool.PRIORITY_HIGH, 200, 700),
+            new SoundEntry("correct", "sounds/correct.mp3", VoicePool.PRIORITY_HIGH, 80, 500),
+            new SoundEntry("wrong", "sounds/wrong.mp3", VoicePool.PRIORITY_HIGH, 80, 500),
+            new SoundEntry("complete", "sounds/complete.mp3", VoicePool.PRIORITY_HIGH, 100, 800),
+            new SoundEntry("tick", "sounds/tick.mp3", VoicePool.PRIORITY_LOW, 100, 150),
+            new SoundEntry("unlock", "sounds/unlock.mp3", VoicePool.PRIORITY_HIGH, 200, 900),
+            new SoundEntry("star", "sounds/star.mp3", VoicePool.PRIORITY_HIGH, 80, 600),
+            new SoundEntry("win", "sounds/win.mp3", VoicePool.PRIORITY_CRITICAL, 1000, 2500),
+            new SoundEntry("lose", "sounds/lose.mp3", VoicePool.PRIORITY_CRITICAL, 1000, 2500)
+    };
+    private static final String MUSIC_FILE = "music/bgm.mp3";
+
+    // A queued play older than this is dropped rather than played late
+    private static final long MAX_PLAY_DELAY_MS = 250;
+    private static final int MAX_PENDING_PLAYS = 8;
 
-    private Map<String, Sound> sounds;
+    /**
+     * A sound waiting to be decoded
+     */
+    private static class SoundEntry {
+        final String name;
+        final String path;
+        final int priority;
+        final int cooldownMs;
+        final int lengthMs;
+
+        SoundEntry(String name, String path, int priority, int cooldownMs, int lengthMs) {
+            this.name = name;
+            this.path = path;
+            this.priority = priority;
+            this.cooldownMs = cooldownMs;
+            this.lengthMs = lengthMs;
+        }
+    }
+
+    /**
+     * A play request made before its sound was ready
+     */
+    private static class PendingPlay {
+        String name;
+        float volume;
+        long timeMillis;
+    }
+
+    // Render thread only
+    private final ObjectMap<String, Sound> sounds = new ObjectMap<>();
+    private final VoicePool voices = new VoicePool();
+    private final Array<PendingPlay> pendingPlays = new Array<>(false, MAX_PENDING_PLAYS);
     private Music backgroundMusic;
+    private boolean musicRequested = false;
+
+    // Shared with the loader thread (guarded by loadQueue)
+    private final Array<SoundEntry> loadQueue = new Array<>();
+    private final AsyncExecutor loader = new AsyncExecutor(1, "SoundLoader");
+    private volatile boolean disposed = false;
+    private volatile boolean loaderDone = false;
+    private volatile String decoding;
+    private long loadStartMillis;
 
     private boolean soundEnabled = true;
     private boolean musicEnabled = true;
@@ -31,7 +108,6 @@ public class SoundManager {
     private float musicVolume = 0.5f;
 
     private SoundManager() {
-        sounds = new HashMap<>();
         loadSounds();
     }
 
@@ -43,52 +119,107 @@ public class SoundManager {
     }
 
     /**
-     * Load all sound effects
+     * Register all sound effects and start decoding them in the background
      */
     private void loadSounds() {
-        try {
-            // Load sound effects (create placeholder if files don't exist)
-            loadSound("tap", "sounds/tap.mp3");
-            loadSound("select", "sounds/select.mp3");
-            loadSound("hint", "sounds/hint.mp3");
-            loadSound("place", "sounds/place.mp3");
-            loadSound("correct", "sounds/correct.mp3");
-            loadSound("wrong", "sounds/wrong.mp3");
-            loadSound("win", "sounds/win.mp3");
-            loadSound("lose", "sounds/lose.mp3");
-            loadSound("unlock", "sounds/unlock.mp3");
-            loadSound("star", "sounds/star.mp3");
-            loadSound("button", "sounds/button.mp3");
-            loadSound("whoosh", "sounds/whoosh.mp3");
-            loadSound("tick", "sounds/tick.mp3");
-            loadSound("complete", "sounds/complete.mp3");
-
-            // Load background music
-            if (Gdx.files.internal("music/bgm.mp3").exists()) {
-                backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("music/bgm.mp3"));
-                backgroundMusic.setLooping(true);
-                backgroundMusic.setVolume(musicVolume);
+        loadStartMillis = TimeUtils.millis();
+
+        synchronized (loadQueue) {
+            for (SoundEntry entry : SOUND_FILES) {
+                loadQueue.add(entry);
+                voices.define(entry.name, entry.priority, entry.cooldownMs, entry.lengthMs);
+            }
+            // Music is streamed, so opening it is cheap; it still waits for the UI sounds
+            loadQueue.insert(Math.min(4, loadQueue.size), new SoundEntry(null, MUSIC_FILE, 0, 0, 0));
+        }
+
+        loader.submit(() -> {
+            SoundEntry entry;
+            while (!disposed && (entry = nextEntry()) != null) {
+                decoding = entry.name;
+                loadEntry(entry);
+                decoding = null;
             }
+            loaderDone = true;
+            return null;
+        });
+    }
 
-            Gdx.app.log("SoundManager", "Sounds loaded successfully");
-        } catch (Exception e) {
-            Gdx.app.error("SoundManager", "Error loading sounds", e);
+    private SoundEntry nextEntry() {
+        synchronized (loadQueue) {
+            return loadQueue.size > 0 ? loadQueue.removeIndex(0) : null;
         }
     }
 
     /**
-     * Load a single sound effect
+     * Decode one file on the loader thread and hand it to the render thread
      */
-    private void loadSound(String name, String path) {
+    private void loadEntry(final SoundEntry entry) {
+        long start = TimeUtils.nanoTime();
         try {
-            if (Gdx.files.internal(path).exists()) {
-                Sound sound = Gdx.audio.newSound(Gdx.files.internal(path));
-                sounds.put(name, sound);
+            FileHandle file = Gdx.files.internal(entry.path);
+
+            // Missing UI cues are synthesised instead (see SoundSynth)
+            if (!file.exists() && entry.name != null) {
+                FileHandle synthesised = SoundSynth.render(entry.name);
+                if (synthesised != null) file = synthesised;
+            }
+
+            if (!file.exists()) {
+                Gdx.app.log("SoundManager", "Sound file not found: " + entry.path + " (will be silent)");
+                return;
+            }
+
+            if (entry.name == null) {
+                final Music music = Gdx.audio.newMusic(file);
+                Gdx.app.postRunnable(() -> onMusicLoaded(music));
             } else {
-                Gdx.app.log("SoundManager", "Sound file not found: " + path + " (will be silent)");
+                final Sound sound = Gdx.audio.newSound(file);
+                Gdx.app.postRunnable(() -> onSoundLoaded(entry.name, sound));
             }
         } catch (Exception e) {
-            Gdx.app.error("SoundManager", "Error loading sound: " + name, e);
+            Gdx.app.error("SoundManager", "Error loading sound: " + entry.path, e);
+        } finally {
+            MetricsRegistry.getInstance().histogram("load." + entry.path).recordSince(start);
+            TraceRecorder.getInstance().end(SPAN_LOAD, start);
+        }
+    }
+
+    private void onSoundLoaded(String name, Sound sound) {
+        if (disposed) {
+            sound.dispose();
+            return;
+        }
+        sounds.put(name, sound);
+
+        // Play requests that arrived while this sound was loading, if still fresh
+        long now = TimeUtils.millis();
+        for (int i = pendingPlays.size - 1; i >= 0; i--) {
+            PendingPlay play = pendingPlays.get(i);
+            if (play.name.equals(name)) {
+                if (soundEnabled && now - play.timeMillis <= MAX_PLAY_DELAY_MS) {
+                    voices.play(name, sound, play.volume);
+                }
+                pendingPlays.removeIndex(i);
+            }
+        }
+
+        if (sounds.size == SOUND_FILES.length) {
+            Gdx.app.log("SoundManager", "Sounds loaded in " + TimeUtils.timeSinceMillis(loadStartMillis) + "ms");
+        }
+    }
+
+    private void onMusicLoaded(Music music) {
+        if (disposed) {
+            music.dispose();
+            return;
+        }
+        backgroundMusic = music;
+        backgroundMusic.setLooping(true);
+        backgroundMusic.setVolume(musicVolume);
+
+        if (musicRequested) {
+            playMusic();
         }
     }
 
@@ -96,12 +227,7 @@ public class SoundManager {
      * Play a sound effect
      */
     public void playSound(String name) {
-        if (!soundEnabled) return;
-
-        Sound sound = sounds.get(name);
-        if (sound != null) {
-            sound.play(soundVolume);
-        }
+        playSound(name, 1f);
     }
 
     /**
@@ -112,14 +238,74 @@ public class SoundManager {
 
         Sound sound = sounds.get(name);
         if (sound != null) {
-            sound.play(volume * soundVolume);
+            voices.play(name, sound, volume * soundVolume);
+        } else {
+            deferPlay(name, volume * soundVolume);
         }
     }
 
+    /**
+     * Remember a play for a sound that is still loading and move it up the queue
+     */
+    private void deferPlay(String name, float volume) {
+        if (!promote(name)) return;  // not registered, already loaded or missing
+
+        // Drop the oldest request rather than grow
+        if (pendingPlays.size >= MAX_PENDING_PLAYS) {
+            pendingPlays.removeIndex(0);
+        }
+        PendingPlay play = new PendingPlay();
+        play.name = name;
+        play.volume = volume;
+        play.timeMillis = TimeUtils.millis();
+        pendingPlays.add(play);
+    }
+
+    /**
+     * Move a queued sound to the front; false if it is not waiting to load
+     */
+    private boolean promote(String name) {
+        synchronized (loadQueue) {
+            for (int i = 0; i < loadQueue.size; i++) {
+                if (name.equals(loadQueue.get(i).name)) {
+                    if (i > 0) loadQueue.insert(0, loadQueue.removeIndex(i));
+                    return true;
+                }
+            }
+        }
+        // Possibly being decoded right now
+        return name.equals(decoding);
+    }
+
+    /**
+     * True while sounds are still being decoded
+     */
+    public boolean isLoading() {
+        return !loaderDone && !disposed;
+    }
+
+    public boolean isLoaded(String name) {
+        return sounds.containsKey(name);
+    }
+
+    /**
+     * Get audio loading statistics
+     */
+    public String getStats() {
+        int queued;
+        synchronized (loadQueue) {
+            queued = loadQueue.size;
+        }
+        return String.format("Sounds: %d/%d loaded | %d queued | %d plays waiting | music %s\n%s",
+                sounds.size, SOUND_FILES.length, queued, pendingPlays.size,
+                backgroundMusic != null ? "ready" : "loading", voices.getStats());
+    }
+
     /**
      * Play background music
      */
     public void playMusic() {
+        musicRequested = true;
         if (musicEnabled && backgroundMusic != null && !backgroundMusic.isPlaying()) {
             backgroundMusic.play();
         }
@@ -129,6 +315,7 @@ public class SoundManager {
      * Stop background music
      */
     public void stopMusic() {
+        musicRequested = false;
         if (backgroundMusic != null && backgroundMusic.isPlaying()) {
             backgroundMusic.stop();
         }
@@ -147,6 +334,7 @@ public class SoundManager {
      * Resume background music
      */
     public void resumeMusic() {
+        musicRequested = true;
         if (musicEnabled && backgroundMusic != null) {
             backgroundMusic.play();
         }
@@ -157,6 +345,10 @@ public class SoundManager {
     public void setSoundEnabled(boolean enabled) {
         this.soundEnabled = enabled;
         GameProgress.getInstance().setSoundEnabled(enabled);
+        if (!enabled) {
+            voices.stopAll();
+            pendingPlays.clear();
+        }
     }
 
     public boolean isSoundEnabled() {
@@ -214,12 +406,21 @@ public class SoundManager {
      * Dispose of all sounds
      */
     public void dispose() {
+        disposed = true;
+        synchronized (loadQueue) {
+            loadQueue.clear();
+        }
+        // Waits for a decode in progress; its result is dropped (see onSoundLoaded)
+        loader.dispose();
+
+        voices.stopAll();
         for (Sound sound : sounds.values()) {
             if (sound != null) {
                 sound.dispose();
             }
         }
         sounds.clear();
+        pendingPlays.clear();
 
         if (backgroundMusic != null) {
             backgroundMusic.dispose();
@@ -0,0 +1,253 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Sound Synth
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Procedural PCM sound effects
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import java.util.Random;
+
+/**
+ * Renders the short UI cues (tap, place, correct, wrong, tick, star)
+ * from a few oscillators and envelopes, so they need no asset files.
+ * Each cue is written once as a 16-bit mono WAV into local storage and
+ * loaded as a regular Sound; later runs reuse the file.
+ *
+ * Thread-safe: SoundManager calls render() from its loader thread.
+ */
+public class SoundSynth {
+
+    private static final int SAMPLE_RATE = 22050;
+
+    // Bump when a recipe changes so stale cached files are ignored
+    private static final int VERSION = 1;
+    private static final String CACHE_DIR = "synth/";
+
+    private SoundSynth() {
+    }
+
+    /**
+     * True if there is a recipe for this sound name
+     */
+    public static boolean canRender(String name) {
+        switch (name) {
+            case "tap":
+            case "place":
+            case "correct":
+            case "wrong":
+            case "tick":
+            case "star":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * WAV file for a sound, rendering it if it is not cached yet; null if
+     * there is no recipe or local storage is unavailable
+     */
+    public static FileHandle render(String name) {
+        if (!canRender(name) || !Gdx.files.isLocalStorageAvailable()) return null;
+
+        FileHandle file = Gdx.files.local(CACHE_DIR + name + "_v" + VERSION + ".wav");
+        if (file.exists() && file.length() > 44) return file;
+
+        long start = System.nanoTime();
+        float[] samples = synthesize(name);
+        file.writeBytes(toWav(samples), false);
+
+        Gdx.app.log("SoundSynth", String.format("Rendered %s (%d samples) in %.1fms",
+                name, samples.length, (System.nanoTime() - start) / 1000000f));
+        return file;
+    }
+
+    private static float[] synthesize(String name) {
+        switch (name) {
+            case "tap":
+                return tap();
+            case "place":
+                return place();
+            case "correct":
+                return correct();
+            case "wrong":
+                return wrong();
+            case "tick":
+                return tick();
+            case "star":
+                return star();
+            default:
+                throw new IllegalArgumentException("No recipe for sound: " + name);
+        }
+    }
+
+    /**
+     * Light click: a noise burst over a high sine, gone in 40ms
+     */
+    private static float[] tap() {
+        float[] out = buffer(0.04f);
+        Random noise = new Random(1);
+        for (int i = 0; i < out.length; i++) {
+            float t = time(i);
+            float env = decay(t, 90f);
+            out[i] = env * (0.5f * (noise.nextFloat() * 2 - 1) + 0.5f * sine(2000f, t));
+        }
+        return out;
+    }
+
+    /**
+     * Soft thud: a sine sweeping down an octave
+     */
+    private static float[] place() {
+        float[] out = buffer(0.12f);
+        float phase = 0;
+        for (int i = 0; i < out.length; i++) {
+            float t = time(i);
+            float frequency = MathUtils.lerp(240f, 110f, t / 0.12f);
+            phase += frequency / SAMPLE_RATE;
+            out[i] = attack(t, 0.003f) * decay(t, 30f) * MathUtils.sin(phase * MathUtils.PI2);
+        }
+        return out;
+    }
+
+    /**
+     * Success: two rising notes with a soft harmonic
+     */
+    private static float[] correct() {
+        float[] out = buffer(0.3f);
+        addNote(out, 0f, 0.12f, 660f, 18f);
+        addNote(out, 0.1f, 0.2f, 880f, 12f);
+        return out;
+    }
+
+    /**
+     * Error: low, buzzy and falling
+     */
+    private static float[] wrong() {
+        float[] out = buffer(0.22f);
+        float phase = 0;
+        for (int i = 0; i < out.length; i++) {
+            float t = time(i);
+            float frequency = MathUtils.lerp(200f, 150f, t / 0.22f);
+            phase += frequency / SAMPLE_RATE;
+            float wave = MathUtils.sin(phase * MathUtils.PI2)
+                    + 0.33f * MathUtils.sin(phase * 3 * MathUtils.PI2)
+                    + 0.2f * MathUtils.sin(phase * 5 * MathUtils.PI2);
+            out[i] = 0.6f * attack(t, 0.005f) * decay(t, 10f) * wave;
+        }
+        return out;
+    }
+
+    /**
+     * Clock tick: a very short high click
+     */
+    private static float[] tick() {
+        float[] out = buffer(0.03f);
+        for (int i = 0; i < out.length; i++) {
+            float t = time(i);
+            out[i] = decay(t, 160f) * (0.7f * sine(3000f, t) + 0.3f * sine(4500f, t));
+        }
+        return out;
+    }
+
+    /**
+     * Sparkle: a bright chord with a little vibrato
+     */
+    private static float[] star() {
+        float[] out = buffer(0.35f);
+        float[] partials = { 1320f, 1760f, 2640f };
+        for (int i = 0; i < out.length; i++) {
+            float t = time(i);
+            float vibrato = 1f + 0.006f * MathUtils.sin(t * 30f * MathUtils.PI2);
+            float sum = 0;
+            for (int p = 0; p < partials.length; p++) {
+                sum += sine(partials[p] * vibrato, t) / (p + 1);
+            }
+            out[i] = 0.5f * attack(t, 0.004f) * decay(t, 9f) * sum;
+        }
+        return out;
+    }
+
+    // Building blocks
+
+    private static float[] buffer(float seconds) {
+        return new float[(int) (seconds * SAMPLE_RATE)];
+    }
+
+    private static float time(int sample) {
+        return sample / (float) SAMPLE_RATE;
+    }
+
+    private static float sine(float frequency, float t) {
+        return MathUtils.sin(frequency * t * MathUtils.PI2);
+    }
+
+    private static float attack(float t, float seconds) {
+        return t >= seconds ? 1f : t / seconds;
+    }
+
+    private static float decay(float t, float rate) {
+        return (float) Math.exp(-rate * t);
+    }
+
+    private static void addNote(float[] out, float start, float length, float frequency, float decayRate) {
+        int from = (int) (start * SAMPLE_RATE);
+        int to = Math.min(out.length, from + (int) (length * SAMPLE_RATE));
+        for (int i = from; i < to; i++) {
+            float t = time(i - from);
+            float wave = sine(frequency, t) + 0.25f * sine(frequency * 2, t);
+            out[i] += 0.6f * attack(t, 0.004f) * decay(t, decayRate) * wave;
+        }
+    }
+
+    /**
+     * 16-bit little-endian mono WAV; samples are clipped to [-1, 1]
+     */
+    private static byte[] toWav(float[] samples) {
+        int dataSize = samples.length * 2;
+        byte[] wav = new byte[44 + dataSize];
+
+        writeAscii(wav, 0, "RIFF");
+        writeInt(wav, 4, 36 + dataSize);
+        writeAscii(wav, 8, "WAVE");
+        writeAscii(wav, 12, "fmt ");
+        writeInt(wav, 16, 16);               // fmt chunk size
+        writeShort(wav, 20, 1);              // PCM
+        writeShort(wav, 22, 1);              // mono
+        writeInt(wav, 24, SAMPLE_RATE);
+        writeInt(wav, 28, SAMPLE_RATE * 2);  // byte rate
+        writeShort(wav, 32, 2);              // block align
+        writeShort(wav, 34, 16);             // bits per sample
+        writeAscii(wav, 36, "data");
+        writeInt(wav, 40, dataSize);
+
+        for (int i = 0; i < samples.length; i++) {
+            int value = (int) (MathUtils.clamp(samples[i], -1f, 1f) * 32767);
+            writeShort(wav, 44 + i * 2, value);
+        }
+        return wav;
+    }
+
+    private static void writeAscii(byte[] out, int offset, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out[offset + i] = (byte) text.charAt(i);
+        }
+    }
+
+    private static void writeInt(byte[] out, int offset, int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >> 8);
+        out[offset + 2] = (byte) (value >> 16);
+        out[offset + 3] = (byte) (value >> 24);
+    }
+
+    private static void writeShort(byte[] out, int offset, int value) {
+        out[offset] = (byte) value;
+        out[offset + 1] = (byte) (value >> 8);
+    }
+}
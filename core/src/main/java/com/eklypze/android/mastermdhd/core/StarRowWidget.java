@@ -0,0 +1,74 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Star Row Widget
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Row of earned and unearned stars
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Shows 0-3 stars centred in its bounds. Earned and unearned stars are
+ * two cached labels, so changing the count is the only thing that
+ * triggers a re-layout.
+ */
+public class StarRowWidget extends Widget {
+
+    private static final Color UNEARNED_COLOR = new Color(0.35f, 0.35f, 0.35f, 1f);
+    private static final int MAX_STARS = 3;
+
+    private final HudText earned;
+    private final HudText unearned;
+    private int stars = -1;
+    private boolean showUnearned = true;
+
+    public StarRowWidget(BitmapFont font, float textScale, Color starColor) {
+        this.earned = new HudText(font, textScale, starColor);
+        this.unearned = new HudText(font, textScale, UNEARNED_COLOR);
+        setStars(0);
+    }
+
+    public StarRowWidget setStars(int count) {
+        count = Math.max(0, Math.min(MAX_STARS, count));
+        if (stars != count) {
+            stars = count;
+            earned.setText(HudText.stars(count));
+            unearned.setText(HudText.stars(MAX_STARS - count));
+            invalidate();
+        }
+        return this;
+    }
+
+    public int getStars() {
+        return stars;
+    }
+
+    /**
+     * Whether missing stars are drawn greyed out
+     */
+    public StarRowWidget setShowUnearned(boolean show) {
+        showUnearned = show;
+        return this;
+    }
+
+    @Override
+    protected void layout() {
+        // Centre the whole row, then put the greyed stars after the earned ones
+        float earnedWidth = earned.getWidth();
+        float total = earnedWidth + (showUnearned ? unearned.getWidth() : 0);
+        float x = bounds.x + (bounds.width - total) / 2;
+        float y = bounds.y + bounds.height;
+
+        earned.setPosition(x, y);
+        unearned.setPosition(x + earnedWidth, y);
+    }
+
+    @Override
+    protected void render(RenderQueue queue) {
+        if (stars > 0) queue.text(RenderQueue.LAYER_TEXT, earned);
+        if (showUnearned && stars < MAX_STARS) queue.text(RenderQueue.LAYER_TEXT, unearned);
+    }
+}
@@ -0,0 +1,213 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Startup Orchestrator
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Ordered, partly parallel subsystem startup
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/**
+ * Initialises subsystems up front, behind a splash frame, instead of
+ * on whichever frame first touches them. Background tasks (no GL, e.g.
+ * building levels or reading preferences) start immediately on worker
+ * threads; render tasks run in order on the render thread, a few per
+ * frame, each waiting for the tasks named in its "after" list.
+ *
+ * Every task is timed, and the time from start to the first frame the
+ * player can interact with is recorded, so startup regressions show up
+ * as numbers in the log (see getTimeline()).
+ */
+public class StartupOrchestrator {
+
+    // Render tasks keep running in a frame until this much time is used
+    private static final float FRAME_BUDGET_MS = 12f;
+
+    private static class Task {
+        final String name;
+        final boolean background;
+        final Runnable work;
+        final String[] after;
+        volatile long startNanos;
+        volatile long endNanos;
+        volatile boolean done;
+        volatile boolean failed;
+
+        Task(String name, boolean background, Runnable work, String[] after) {
+            this.name = name;
+            this.background = background;
+            this.work = work;
+            this.after = after;
+        }
+    }
+
+    private final Array<Task> tasks = new Array<>();
+    private final AsyncExecutor workers = new AsyncExecutor(2, "Startup");
+
+    private final long startNanos = TimeUtils.nanoTime();
+    private long finishedNanos = -1;
+    private long interactiveNanos = -1;
+    private boolean started = false;
+    private int nextRenderTask = 0;
+    private int frames = 0;
+
+    /**
+     * Run on a worker thread as soon as startup begins (must not use GL)
+     */
+    public void background(String name, Runnable work) {
+        tasks.add(new Task(name, true, work, new String[0]));
+    }
+
+    /**
+     * Run on the render thread, in the order added, once the named tasks are done
+     */
+    public void render(String name, Runnable work, String... after) {
+        tasks.add(new Task(name, false, work, after));
+    }
+
+    /**
+     * Advance startup; called once per frame until isFinished()
+     */
+    public void update() {
+        if (isFinished()) return;
+        frames++;
+
+        // The first frame only shows the splash
+        if (!started) {
+            started = true;
+            for (Task task : tasks) {
+                if (task.background) {
+                    workers.submit(() -> {
+                        run(task);
+                        return null;
+                    });
+                }
+            }
+            return;
+        }
+
+        long frameStart = TimeUtils.nanoTime();
+        while (nextRenderTask < tasks.size) {
+            Task task = tasks.get(nextRenderTask);
+            if (task.background) {
+                nextRenderTask++;
+                continue;
+            }
+            if (!isReady(task)) break;
+
+            run(task);
+            nextRenderTask++;
+
+            if ((TimeUtils.nanoTime() - frameStart) / 1000000f > FRAME_BUDGET_MS) break;
+        }
+
+        if (nextRenderTask >= tasks.size && allDone()) {
+            finishedNanos = TimeUtils.nanoTime();
+        }
+    }
+
+    private boolean isReady(Task task) {
+        for (String name : task.after) {
+            Task dependency = find(name);
+            if (dependency != null && !dependency.done) return false;
+        }
+        return true;
+    }
+
+    private boolean allDone() {
+        for (Task task : tasks) {
+            if (!task.done) return false;
+        }
+        return true;
+    }
+
+    private Task find(String name) {
+        for (Task task : tasks) {
+            if (task.name.equals(name)) return task;
+        }
+        return null;
+    }
+
+    private void run(Task task) {
+        task.startNanos = TimeUtils.nanoTime();
+        try {
+            task.work.run();
+        } catch (Exception e) {
+            // Startup goes on; the subsystem initialises lazily on first use instead
+            task.failed = true;
+            Gdx.app.error("Startup", "Task failed: " + task.name, e);
+        }
+        task.endNanos = TimeUtils.nanoTime();
+        task.done = true;
+    }
+
+    public boolean isFinished() {
+        return finishedNanos >= 0;
+    }
+
+    /**
+     * Called after each frame the game screen has drawn; the first one counts as interactive
+     */
+    public void frameShown() {
+        if (interactiveNanos >= 0 || !isFinished()) return;
+
+        interactiveNanos = TimeUtils.nanoTime();
+        workers.dispose();
+        Gdx.app.log("Startup", getTimeline());
+    }
+
+    /**
+     * Milliseconds from startup to the first interactive frame, or -1
+     */
+    public float getTimeToInteractiveMillis() {
+        return interactiveNanos < 0 ? -1 : (interactiveNanos - startNanos) / 1000000f;
+    }
+
+    /**
+     * Duration of one task in milliseconds, or -1 if it has not finished
+     */
+    public float getTaskMillis(String name) {
+        Task task = find(name);
+        return task == null || !task.done ? -1 : (task.endNanos - task.startNanos) / 1000000f;
+    }
+
+    /**
+     * Per-task start offset and duration, one task per line
+     */
+    public String getTimeline() {
+        StringBuilder timeline = new StringBuilder("Startup timeline (ms):");
+        for (Task task : tasks) {
+            timeline.append(String.format("\n  %-12s %-10s", task.name, task.background ? "background" : "render"));
+            if (task.done) {
+                timeline.append(String.format(" at %7.1f took %6.1f%s",
+                        (task.startNanos - startNanos) / 1000000f,
+                        (task.endNanos - task.startNanos) / 1000000f,
+                        task.failed ? " FAILED" : ""));
+            } else {
+                timeline.append(" pending");
+            }
+        }
+        timeline.append(String.format("\n  ready after %.1fms, first interactive frame after %.1fms (%d startup frames)",
+                isFinished() ? (finishedNanos - startNanos) / 1000000f : -1f, getTimeToInteractiveMillis(), frames));
+        return timeline.toString();
+    }
+
+    /**
+     * Get startup statistics
+     */
+    public String getStats() {
+        return String.format("Startup: %.1fms to interactive | %d frames", getTimeToInteractiveMillis(), frames);
+    }
+
+    /**
+     * Wait for running background tasks (called if the game exits during startup)
+     */
+    public void dispose() {
+        workers.dispose();
+    }
+}
@@ -14,18 +14,17 @@ import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 /**
  * Statistics screen showing player performance and achievements
  */
-public class StatsScreen implements Screen {
+public class StatsScreen implements Screen, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
     private OrthographicCamera camera;
@@ -34,13 +33,20 @@ public class StatsScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
-    private BitmapFont titleFont;
-    private ShapeRenderer shapeRenderer;
-    private GlyphLayout layout;
 
-    private Rectangle backButton;
-    private Rectangle resetButton;
+    private static final String[] STAT_NAMES = {
+            "Total Games:", "Games Won:", "Games Lost:", "Win Rate:", "Avg Moves:",
+            "Perfect Games:", "Current Streak:", "Best Streak:", "Best Time:"
+    };
+    private static final String[] ACHIEVEMENT_NAMES = {
+            "First Victory", "10 Wins", "50 Wins", "100 Wins", "Perfect Game", "5 Win Streak"
+    };
+
+    private final WidgetGroup ui = new WidgetGroup();
+    private final LabelWidget[] statValues = new LabelWidget[STAT_NAMES.length];
+    private final LabelWidget[] achievements = new LabelWidget[ACHIEVEMENT_NAMES.length];
     private GameStats stats;
     private SoundManager soundManager;
 
@@ -55,30 +61,101 @@ public class StatsScreen implements Screen {
         touchPoint = new Vector3();
 
         // Load assets
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.8f);
+        font = fonts.newFont(Color.WHITE);
 
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.GOLD);
-        titleFont.getData().setScale(3.5f);
+        // Title
+        ui.add(new LabelWidget(font, 3.5f, Color.GOLD)).setText("STATISTICS")
+                .setLine(0, 750, MastermindHDGame.GAME_WIDTH);
 
-        shapeRenderer = new ShapeRenderer();
-        layout = new GlyphLayout();
+        // Stats
+        float leftX = 60;
+        float y = 650;
+        float lineHeight = 50;
+        for (int i = 0; i < STAT_NAMES.length; i++) {
+            ui.add(new LabelWidget(font, 1.8f, Color.LIGHT_GRAY)).setText(STAT_NAMES[i]).setAlign(Align.left)
+                    .setLine(leftX, y, 0);
+            statValues[i] = ui.add(new LabelWidget(font, 1.8f, Color.WHITE)).setAlign(Align.left);
+            statValues[i].setLine(leftX + 220, y, 0);
+            y -= lineHeight;
+        }
+
+        // Achievements
+        ui.add(new LabelWidget(font, 2.2f, Color.CYAN)).setText("ACHIEVEMENTS").setAlign(Align.left)
+                .setLine(leftX, 280, 0);
+
+        y = 230;
+        lineHeight = 35;
+        for (int i = 0; i < ACHIEVEMENT_NAMES.length; i++) {
+            achievements[i] = ui.add(new LabelWidget(font, 1.5f, Color.DARK_GRAY)).setAlign(Align.left);
+            achievements[i].setLine(leftX, y, 0);
+            y -= lineHeight;
+        }
 
         // Buttons
-        backButton = new Rectangle(40, 50, 150, 60);
-        resetButton = new Rectangle(290, 50, 150, 60);
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("BACK").setColor(0.3f, 0.6f, 0.3f, 1.0f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showSettings();
+                })
+                .setBounds(40, 50, 150, 60);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("RESET").setColor(0.8f, 0.3f, 0.3f, 1.0f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    stats.reset();
+                    refresh();
+                })
+                .setBounds(290, 50, 150, 60);
     }
 
     @Override
     public void show() {
-        Gdx.input.setInputProcessor(null);
+        refresh();
+    }
+
+    /**
+     * Copy the current statistics into the labels
+     */
+    private void refresh() {
+        statValues[0].begin().append(stats.getTotalGames());
+        statValues[1].begin().append(stats.getGamesWon());
+        statValues[2].begin().append(stats.getGamesLost());
+        statValues[3].begin().append(stats.getWinRatePercentage()).append('%');
+        appendTenths(statValues[4].begin(), stats.getAverageMoves());
+        statValues[5].begin().append(stats.getPerfectGames());
+        statValues[6].begin().append(stats.getCurrentStreak());
+        statValues[7].begin().append(stats.getBestStreak());
+
+        float bestTime = stats.getBestTime();
+        if (bestTime > 0) {
+            appendTenths(statValues[8].begin(), bestTime).append('s');
+        } else {
+            statValues[8].begin().append("N/A");
+        }
+
+        for (LabelWidget value : statValues) {
+            value.end();
+        }
+
+        boolean[] unlocked = {
+                stats.hasPlayedFirstGame(), stats.hasWon10Games(), stats.hasWon50Games(),
+                stats.hasWon100Games(), stats.hasPerfectGame(), stats.has5WinStreak()
+        };
+        for (int i = 0; i < achievements.length; i++) {
+            achievements[i].begin().append(unlocked[i] ? "✓ " : "✗ ").append(ACHIEVEMENT_NAMES[i]);
+            achievements[i].end();
+            achievements[i].setColor(unlocked[i] ? Color.GOLD : Color.DARK_GRAY);
+        }
+    }
+
+    private static StringBuilder appendTenths(StringBuilder out, float value) {
+        int tenths = Math.round(value * 10);
+        return out.append(tenths / 10).append('.').append(tenths % 10);
     }
 
     @Override
@@ -90,123 +167,24 @@ public class StatsScreen implements Screen {
 
         camera.update();
         game.batch.setProjectionMatrix(camera.combined);
-        shapeRenderer.setProjectionMatrix(camera.combined);
 
         // Draw background
-        game.batch.begin();
-        backgroundSprite.draw(game.batch);
-        game.batch.end();
-
-        // Draw buttons
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0.3f, 0.6f, 0.3f, 1.0f);
-        shapeRenderer.rect(backButton.x, backButton.y, backButton.width, backButton.height);
-        shapeRenderer.setColor(0.8f, 0.3f, 0.3f, 1.0f);
-        shapeRenderer.rect(resetButton.x, resetButton.y, resetButton.width, resetButton.height);
-        shapeRenderer.end();
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
 
-        // Draw text
-        game.batch.begin();
+        ui.draw(game.renderQueue);
 
-        // Title
-        layout.setText(titleFont, "STATISTICS");
-        float titleX = (MastermindHDGame.GAME_WIDTH - layout.width) / 2;
-        titleFont.draw(game.batch, "STATISTICS", titleX, 750);
-
-        // Stats
-        font.getData().setScale(1.8f);
-        float leftX = 60;
-        float y = 650;
-        float lineHeight = 50;
-
-        drawStat("Total Games:", String.valueOf(stats.getTotalGames()), leftX, y);
-        y -= lineHeight;
-        drawStat("Games Won:", String.valueOf(stats.getGamesWon()), leftX, y);
-        y -= lineHeight;
-        drawStat("Games Lost:", String.valueOf(stats.getGamesLost()), leftX, y);
-        y -= lineHeight;
-        drawStat("Win Rate:", stats.getWinRatePercentage() + "%", leftX, y);
-        y -= lineHeight;
-        drawStat("Avg Moves:", String.format("%.1f", stats.getAverageMoves()), leftX, y);
-        y -= lineHeight;
-        drawStat("Perfect Games:", String.valueOf(stats.getPerfectGames()), leftX, y);
-        y -= lineHeight;
-        drawStat("Current Streak:", String.valueOf(stats.getCurrentStreak()), leftX, y);
-        y -= lineHeight;
-        drawStat("Best Streak:", String.valueOf(stats.getBestStreak()), leftX, y);
-        y -= lineHeight;
-
-        float bestTime = stats.getBestTime();
-        String bestTimeStr = bestTime > 0 ? String.format("%.1fs", bestTime) : "N/A";
-        drawStat("Best Time:", bestTimeStr, leftX, y);
-
-        // Achievements
-        font.getData().setScale(2.2f);
-        font.setColor(Color.CYAN);
-        font.draw(game.batch, "ACHIEVEMENTS", leftX, 280);
-
-        font.getData().setScale(1.5f);
-        y = 230;
-        lineHeight = 35;
-
-        drawAchievement("First Victory", stats.hasPlayedFirstGame(), leftX, y);
-        y -= lineHeight;
-        drawAchievement("10 Wins", stats.hasWon10Games(), leftX, y);
-        y -= lineHeight;
-        drawAchievement("50 Wins", stats.hasWon50Games(), leftX, y);
-        y -= lineHeight;
-        drawAchievement("100 Wins", stats.hasWon100Games(), leftX, y);
-        y -= lineHeight;
-        drawAchievement("Perfect Game", stats.hasPerfectGame(), leftX, y);
-        y -= lineHeight;
-        drawAchievement("5 Win Streak", stats.has5WinStreak(), leftX, y);
-
-        // Button text
-        font.getData().setScale(2.0f);
-        font.setColor(Color.WHITE);
-        layout.setText(font, "BACK");
-        font.draw(game.batch, "BACK",
-                backButton.x + (backButton.width - layout.width) / 2,
-                backButton.y + (backButton.height + layout.height) / 2);
-
-        layout.setText(font, "RESET");
-        font.draw(game.batch, "RESET",
-                resetButton.x + (resetButton.width - layout.width) / 2,
-                resetButton.y + (resetButton.height + layout.height) / 2);
-
-        game.batch.end();
+        game.renderQueue.flush(game.batch);
     }
 
-    private void drawStat(String label, String value, float x, float y) {
-        font.setColor(Color.LIGHT_GRAY);
-        font.draw(game.batch, label, x, y);
-        font.setColor(Color.WHITE);
-        font.draw(game.batch, value, x + 220, y);
-    }
-
-    private void drawAchievement(String name, boolean unlocked, float x, float y) {
-        if (unlocked) {
-            font.setColor(Color.GOLD);
-            font.draw(game.batch, "✓ " + name, x, y);
-        } else {
-            font.setColor(Color.DARK_GRAY);
-            font.draw(game.batch, "✗ " + name, x, y);
-        }
+    private void handleInput() {
+        game.input.process(this);
     }
 
-    private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (backButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new SettingsScreen(game));
-            } else if (resetButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                stats.reset();
-            }
-        }
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        ui.touch(touchPoint.x, touchPoint.y);
     }
 
     @Override
@@ -225,10 +203,5 @@ public class StatsScreen implements Screen {
     public void hide() {}
 
     @Override
-    public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
-    }
+    public void dispose() {}
 }
@@ -0,0 +1,224 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Trace Recorder
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Span ring buffer with Chrome trace export
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records timed spans (frames, screen renders, moves, preference
+ * flushes, asset loads, solver runs) into a preallocated ring buffer,
+ * so the last half minute or so of a session can be dumped as Chrome
+ * trace-event JSON and opened in Perfetto or chrome://tracing.
+ *
+ * Recording allocates nothing: a span is a name id, a thread id and two
+ * timestamps written into parallel arrays (a thread's name is stored
+ * once, on its first span). Any thread may record; a span being written
+ * while the buffer is dumped may come out torn, which only affects that
+ * one event.
+ *
+ * Dump with F4, or a four-finger tap in debug builds or developer mode
+ * (see InputQueue); the file goes to traces/ in local storage.
+ *
+ * Usage:
+ *   private static final int SPAN_LOAD = TraceRecorder.name("Thing.load");
+ *   long start = TraceRecorder.getInstance().begin();
+ *   ...
+ *   TraceRecorder.getInstance().end(SPAN_LOAD, start);
+ */
+public class TraceRecorder {
+
+    // Power of two; at ~10 spans per frame this is about 25 seconds at 60fps
+    private static final int CAPACITY = 16384;
+    private static final int MASK = CAPACITY - 1;
+    private static final String TRACE_DIR = "traces/";
+
+    private static final TraceRecorder instance = new TraceRecorder();
+
+    // Span names, registered once (usually from static initialisers)
+    private static final List<String> names = new ArrayList<>();
+    private static final Map<String, Integer> nameIds = new ConcurrentHashMap<>();
+
+    private final long[] starts = new long[CAPACITY];
+    private final long[] durations = new long[CAPACITY];
+    private final int[] spanNames = new int[CAPACITY];
+    private final long[] threads = new long[CAPACITY];
+    private final AtomicLong cursor = new AtomicLong();
+    private final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+    // Set once a thread's name is in threadNames, so end() never boxes its id
+    private final ThreadLocal<Boolean> threadNamed = new ThreadLocal<>();
+    private final long originNanos = System.nanoTime();
+
+    private volatile boolean enabled = true;
+
+    private TraceRecorder() {
+    }
+
+    public static TraceRecorder getInstance() {
+        return instance;
+    }
+
+    /**
+     * Id for a span name; the same name always gets the same id
+     */
+    public static int name(String name) {
+        Integer id = nameIds.get(name);
+        if (id != null) return id;
+
+        synchronized (names) {
+            id = nameIds.get(name);
+            if (id == null) {
+                id = names.size();
+                names.add(name);
+                nameIds.put(name, id);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Start time for a span (0 while recording is disabled)
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a span that started at begin() (or at any System.nanoTime() reading)
+     */
+    public void end(int name, long start) {
+        if (start == 0 || !enabled) return;
+        long now = System.nanoTime();
+
+        Thread thread = Thread.currentThread();
+        long threadId = thread.getId();
+        if (threadNamed.get() == null) {
+            threadNames.put(threadId, thread.getName());
+            threadNamed.set(Boolean.TRUE);
+        }
+
+        int slot = (int) (cursor.getAndIncrement() & MASK);
+        starts[slot] = start;
+        durations[slot] = now - start;
+        spanNames[slot] = name;
+        threads[slot] = threadId;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Write the buffer as Chrome trace JSON into local storage; returns the file or null
+     */
+    public FileHandle dump() {
+        if (!Gdx.files.isLocalStorageAvailable()) {
+            Gdx.app.error("TraceRecorder", "No local storage for the trace");
+            return null;
+        }
+
+        long start = TimeUtils.nanoTime();
+        FileHandle file = Gdx.files.local(TRACE_DIR + "trace-" + TimeUtils.millis() + ".json");
+        file.writeString(toJson(), false, "UTF-8");
+
+        Gdx.app.log("TraceRecorder", String.format("Wrote %d spans to %s in %.1fms",
+                getSpanCount(), file.file().getAbsolutePath(), (TimeUtils.nanoTime() - start) / 1000000f));
+        return file;
+    }
+
+    /**
+     * The recorded spans, oldest first, as Chrome trace-event JSON
+     */
+    public String toJson() {
+        long end = cursor.get();
+        long first = Math.max(0, end - CAPACITY);
+
+        String[] nameTable;
+        synchronized (names) {
+            nameTable = names.toArray(new String[0]);
+        }
+
+        StringBuilder json = new StringBuilder((int) (end - first) * 96 + 256);
+        json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+
+        boolean comma = false;
+        for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+            if (comma) json.append(',');
+            json.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(thread.getKey())
+                    .append(",\"args\":{\"name\":\"");
+            appendEscaped(json, thread.getValue());
+            json.append("\"}}");
+            comma = true;
+        }
+
+        for (long i = first; i < end; i++) {
+            int slot = (int) (i & MASK);
+            int name = spanNames[slot];
+            if (comma) json.append(',');
+            json.append("\n{\"name\":\"");
+            appendEscaped(json, name < nameTable.length ? nameTable[name] : "?");
+            json.append("\",\"ph\":\"X\",\"pid\":1,\"tid\":").append(threads[slot])
+                    .append(",\"ts\":");
+            appendMicros(json, starts[slot] - originNanos);
+            json.append(",\"dur\":");
+            appendMicros(json, durations[slot]);
+            json.append('}');
+            comma = true;
+        }
+
+        json.append("\n]}\n");
+        return json.toString();
+    }
+
+    private static void appendMicros(StringBuilder out, long nanos) {
+        out.append(nanos / 1000).append('.');
+        long fraction = Math.abs(nanos % 1000);
+        if (fraction < 100) out.append('0');
+        if (fraction < 10) out.append('0');
+        out.append(fraction);
+    }
+
+    private static void appendEscaped(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Spans currently held in the buffer
+     */
+    public int getSpanCount() {
+        return (int) Math.min(CAPACITY, cursor.get());
+    }
+
+    /**
+     * Get recorder statistics
+     */
+    public String getStats() {
+        long recorded = cursor.get();
+        return String.format("Trace: %d spans recorded | %d in buffer | %d overwritten",
+                recorded, getSpanCount(), Math.max(0, recorded - CAPACITY));
+    }
+}
@@ -0,0 +1,198 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Tween Manager
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Pooled, allocation-free value tweening
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Animates float values owned by the caller. Tween objects come from a
+ * shared pool and go back to it when they finish, so starting and
+ * running animations produces no garbage.
+ *
+ * Usage:
+ *   private final TweenManager.Value titleScale = new TweenManager.Value(4f);
+ *   tweens.to(titleScale, 4.4f, 0.5f, Easing.SINE_IN_OUT).repeatYoyo(-1);
+ *   ...
+ *   tweens.update(delta);
+ *   fonts.setScale(titleFont, titleScale.value);
+ *
+ * The returned Tween is only valid for configuring it right away; do not
+ * keep it, it is reused once it finishes.
+ */
+public class TweenManager {
+
+    /**
+     * A float written to by tweens
+     */
+    public static class Value {
+        public float value;
+
+        public Value(float value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * One running animation of a Value
+     */
+    public static class Tween implements Pool.Poolable {
+        private Value target;
+        private float from, to;
+        private float duration;
+        private float delay;
+        private float elapsed;
+        private Easing easing;
+        private int repeats;
+        private boolean yoyo;
+        private boolean reversed;
+
+        /**
+         * Wait before starting (seconds)
+         */
+        public Tween delay(float seconds) {
+            delay = seconds;
+            return this;
+        }
+
+        /**
+         * Restart from the beginning this many more times (-1 = forever)
+         */
+        public Tween repeat(int count) {
+            repeats = count;
+            yoyo = false;
+            return this;
+        }
+
+        /**
+         * Play back and forth this many more times (-1 = forever)
+         */
+        public Tween repeatYoyo(int count) {
+            repeats = count;
+            yoyo = true;
+            return this;
+        }
+
+        /**
+         * Advance; returns true when finished
+         */
+        boolean update(float delta) {
+            if (delay > 0) {
+                delay -= delta;
+                if (delay > 0) return false;
+                delta = -delay;
+                delay = 0;
+            }
+
+            elapsed += delta;
+            while (elapsed >= duration) {
+                if (repeats == 0) {
+                    target.value = reversed ? from : to;
+                    return true;
+                }
+                if (repeats > 0) repeats--;
+                if (yoyo) reversed = !reversed;
+                elapsed = duration > 0 ? elapsed - duration : 0;
+                if (duration <= 0) break;
+            }
+
+            float start = reversed ? to : from;
+            float end = reversed ? from : to;
+            target.value = start + (end - start) * easing.apply(duration > 0 ? elapsed / duration : 1);
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            target = null;
+            easing = null;
+            delay = 0;
+            elapsed = 0;
+            repeats = 0;
+            yoyo = false;
+            reversed = false;
+        }
+    }
+
+    // Shared by every manager (all tweening happens on the render thread)
+    private static final Pool<Tween> POOL = new Pool<Tween>(16) {
+        @Override
+        protected Tween newObject() {
+            return new Tween();
+        }
+    };
+
+    private final Array<Tween> active = new Array<>(false, 8);
+
+    /**
+     * Tween a value from its current value to the given one
+     */
+    public Tween to(Value target, float to, float duration, Easing easing) {
+        return fromTo(target, target.value, to, duration, easing);
+    }
+
+    /**
+     * Tween a value between two explicit values
+     */
+    public Tween fromTo(Value target, float from, float to, float duration, Easing easing) {
+        Tween tween = POOL.obtain();
+        tween.target = target;
+        tween.from = from;
+        tween.to = to;
+        tween.duration = duration;
+        tween.easing = easing;
+        target.value = from;
+        active.add(tween);
+        return tween;
+    }
+
+    /**
+     * Advance all tweens, returning finished ones to the pool
+     */
+    public void update(float delta) {
+        for (int i = active.size - 1; i >= 0; i--) {
+            Tween tween = active.get(i);
+            if (tween.update(delta)) {
+                active.removeIndex(i);
+                POOL.free(tween);
+            }
+        }
+    }
+
+    /**
+     * Stop every tween of a value (the value keeps its current state)
+     */
+    public void kill(Value target) {
+        for (int i = active.size - 1; i >= 0; i--) {
+            Tween tween = active.get(i);
+            if (tween.target == target) {
+                active.removeIndex(i);
+                POOL.free(tween);
+            }
+        }
+    }
+
+    public boolean isTweening(Value target) {
+        for (int i = 0; i < active.size; i++) {
+            if (active.get(i).target == target) return true;
+        }
+        return false;
+    }
+
+    public boolean hasActiveTweens() {
+        return active.size > 0;
+    }
+
+    /**
+     * Stop everything
+     */
+    public void clear() {
+        POOL.freeAll(active);
+        active.clear();
+    }
+}
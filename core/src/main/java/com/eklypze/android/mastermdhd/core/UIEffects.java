@@ -17,39 +17,30 @@ import com.badlogic.gdx.math.Rectangle;
  */
 public class UIEffects {
 
+    // Scratch objects for the draw helpers below (render thread only)
+    private static final Color TMP_COLOR = new Color();
+    private static final Rectangle TMP_BOUNDS = new Rectangle();
+
     /**
      * Draw a button with optional hover/press effect
      */
     public static void drawButton(ShapeRenderer shapeRenderer, Rectangle button,
                                    boolean isHovered, boolean isPressed, Color baseColor) {
-        float scale = 1.0f;
-        Color color = baseColor.cpy();
-
-        if (isPressed) {
-            scale = 0.95f;
-            color.mul(0.8f, 0.8f, 0.8f, 1.0f);
-        } else if (isHovered) {
-            scale = 1.05f;
-            color.mul(1.2f, 1.2f, 1.2f, 1.0f);
-        }
-
-        float scaledWidth = button.width * scale;
-        float scaledHeight = button.height * scale;
-        float offsetX = (button.width - scaledWidth) / 2;
-        float offsetY = (button.height - scaledHeight) / 2;
+        Color color = getButtonColor(baseColor, isHovered, isPressed, TMP_COLOR);
+        Rectangle bounds = getButtonBounds(button, isHovered, isPressed, TMP_BOUNDS);
 
         // Shadow (offset slightly)
         shapeRenderer.setColor(0, 0, 0, 0.3f);
-        shapeRenderer.rect(button.x + offsetX + 4, button.y + offsetY - 4, scaledWidth, scaledHeight);
+        shapeRenderer.rect(bounds.x + 4, bounds.y - 4, bounds.width, bounds.height);
 
         // Button background
         shapeRenderer.setColor(color);
-        shapeRenderer.rect(button.x + offsetX, button.y + offsetY, scaledWidth, scaledHeight);
+        shapeRenderer.rect(bounds.x, bounds.y, bounds.width, bounds.height);
 
         // Border
         shapeRenderer.set(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(Color.WHITE);
-        shapeRenderer.rect(button.x + offsetX, button.y + offsetY, scaledWidth, scaledHeight);
+        shapeRenderer.rect(bounds.x, bounds.y, bounds.width, bounds.height);
         shapeRenderer.set(ShapeRenderer.ShapeType.Filled);
     }
 
@@ -57,24 +48,39 @@ public class UIEffects {
      * Draw a pulsing effect for highlighted elements
      */
     public static float getPulseAlpha(float time, float speed) {
+        if (!QualityController.getInstance().areAnimatedEffectsEnabled()) return 1.0f;
         return 0.5f + 0.5f * MathUtils.sin(time * speed);
     }
 
+    /**
+     * Alpha for a blinking cursor (steady when animations are reduced)
+     */
+    public static float getBlinkAlpha(float time) {
+        if (!QualityController.getInstance().areAnimatedEffectsEnabled()) return 1.0f;
+        return Math.abs(MathUtils.sin(time * MathUtils.PI));
+    }
+
+    /**
+     * Scale oscillating around a base value (steady when animations are reduced)
+     */
+    public static float getWaveScale(float base, float amplitude, float time, float speed) {
+        if (!QualityController.getInstance().areAnimatedEffectsEnabled()) return base;
+        return base + MathUtils.sin(time * speed) * amplitude;
+    }
+
     /**
      * Draw a glowing border effect
      */
     public static void drawGlow(ShapeRenderer shapeRenderer, Rectangle bounds,
                                  float time, Color glowColor) {
-        float alpha = getPulseAlpha(time, 3.0f);
-        Color color = glowColor.cpy();
-        color.a = alpha * 0.5f;
+        float alpha = getPulseAlpha(time, 3.0f) * 0.5f;
 
         shapeRenderer.set(ShapeRenderer.ShapeType.Line);
         Gdx.gl.glLineWidth(3);
 
         for (int i = 0; i < 3; i++) {
             float offset = i * 2;
-            shapeRenderer.setColor(color.r, color.g, color.b, color.a / (i + 1));
+            shapeRenderer.setColor(glowColor.r, glowColor.g, glowColor.b, alpha / (i + 1));
             shapeRenderer.rect(bounds.x - offset, bounds.y - offset,
                              bounds.width + offset * 2, bounds.height + offset * 2);
         }
@@ -106,6 +112,7 @@ public class UIEffects {
      */
     public static float getBounceScale(float time, float bounceDuration) {
         if (time >= bounceDuration) return 1.0f;
+        if (!QualityController.getInstance().areAnimatedEffectsEnabled()) return 1.0f;
 
         float progress = time / bounceDuration;
         // Elastic bounce effect
@@ -120,8 +127,7 @@ public class UIEffects {
         float shineX = bounds.x + bounds.width * shinePos;
         float shineWidth = 20;
 
-        Color shine = new Color(1, 1, 1, 0.3f);
-        shapeRenderer.setColor(shine);
+        shapeRenderer.setColor(1, 1, 1, 0.3f);
 
         // Draw diagonal shine
         for (int i = 0; i < 3; i++) {
@@ -150,11 +156,19 @@ public class UIEffects {
     }
 
     /**
-     * Create a color with pulsing brightness
+     * Create a color with pulsing brightness (allocates; prefer the variant below)
      */
     public static Color getPulsingColor(Color baseColor, float time, float speed) {
-        float brightness = 0.8f + 0.2f * MathUtils.sin(time * speed);
-        return new Color(
+        return getPulsingColor(baseColor, time, speed, new Color());
+    }
+
+    /**
+     * Write a pulsing-brightness version of baseColor into out and return it
+     */
+    public static Color getPulsingColor(Color baseColor, float time, float speed, Color out) {
+        float brightness = QualityController.getInstance().areAnimatedEffectsEnabled()
+                ? 0.8f + 0.2f * MathUtils.sin(time * speed) : 1.0f;
+        return out.set(
             baseColor.r * brightness,
             baseColor.g * brightness,
             baseColor.b * brightness,
@@ -162,6 +176,29 @@ public class UIEffects {
         );
     }
 
+    /**
+     * Write a button's pressed/hovered tint into out and return it
+     */
+    public static Color getButtonColor(Color baseColor, boolean isHovered, boolean isPressed, Color out) {
+        out.set(baseColor);
+        if (isPressed) {
+            out.mul(0.8f, 0.8f, 0.8f, 1.0f);
+        } else if (isHovered) {
+            out.mul(1.2f, 1.2f, 1.2f, 1.0f);
+        }
+        return out;
+    }
+
+    /**
+     * Write a button's pressed/hovered bounds into out and return it
+     */
+    public static Rectangle getButtonBounds(Rectangle button, boolean isHovered, boolean isPressed, Rectangle out) {
+        float scale = isPressed ? 0.95f : isHovered ? 1.05f : 1.0f;
+        float width = button.width * scale;
+        float height = button.height * scale;
+        return out.set(button.x + (button.width - width) / 2, button.y + (button.height - height) / 2, width, height);
+    }
+
     /**
      * Draw a progress bar with style
      */
@@ -0,0 +1,211 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Voice Pool
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Voice budget, cooldowns and priorities for effects
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Decides whether a sound effect really starts. At most MAX_VOICES play
+ * at once (well under Android's SoundPool stream limit); a repeat of the
+ * same sound inside its cooldown merges into the voice already playing;
+ * only a few new voices start per frame; and when every voice is busy a
+ * new sound steals the oldest voice of equal or lower priority.
+ *
+ * libGDX cannot report when a Sound finishes, so each sound is given an
+ * approximate length after which its voice counts as free.
+ */
+public class VoicePool {
+
+    public static final int PRIORITY_LOW = 0;     // taps, ticks
+    public static final int PRIORITY_NORMAL = 1;  // buttons, placing
+    public static final int PRIORITY_HIGH = 2;    // feedback
+    public static final int PRIORITY_CRITICAL = 3; // win/lose stingers
+
+    private static final int MAX_VOICES = 8;
+    private static final int MAX_STARTS_PER_FRAME = 3;
+    private static final int DEFAULT_COOLDOWN_MS = 30;
+    private static final int DEFAULT_LENGTH_MS = 500;
+
+    /**
+     * Playback rules for one named sound
+     */
+    private static class Definition {
+        int priority = PRIORITY_NORMAL;
+        int cooldownMs = DEFAULT_COOLDOWN_MS;
+        int lengthMs = DEFAULT_LENGTH_MS;
+        long lastStartMillis = -1;
+        int lastVoice = -1;
+    }
+
+    private final ObjectMap<String, Definition> definitions = new ObjectMap<>();
+
+    // Voice slots (parallel arrays, nothing allocated per play)
+    private final String[] voiceNames = new String[MAX_VOICES];
+    private final Sound[] voiceSounds = new Sound[MAX_VOICES];
+    private final long[] voiceIds = new long[MAX_VOICES];
+    private final int[] voicePriorities = new int[MAX_VOICES];
+    private final long[] voiceStarts = new long[MAX_VOICES];
+    private final long[] voiceEnds = new long[MAX_VOICES];
+    private final float[] voiceVolumes = new float[MAX_VOICES];
+
+    private long frameId = -1;
+    private int startsThisFrame = 0;
+
+    // Statistics
+    private long started = 0;
+    private long merged = 0;
+    private long throttled = 0;
+    private long stolen = 0;
+    private long dropped = 0;
+
+    /**
+     * Set the priority, cooldown and approximate length of a sound
+     */
+    public void define(String name, int priority, int cooldownMs, int lengthMs) {
+        Definition definition = definitions.get(name);
+        if (definition == null) {
+            definition = new Definition();
+            definitions.put(name, definition);
+        }
+        definition.priority = priority;
+        definition.cooldownMs = cooldownMs;
+        definition.lengthMs = lengthMs;
+    }
+
+    /**
+     * Play a sound if the rules allow it; returns the sound id or -1
+     */
+    public long play(String name, Sound sound, float volume) {
+        Definition definition = definitions.get(name);
+        if (definition == null) {
+            define(name, PRIORITY_NORMAL, DEFAULT_COOLDOWN_MS, DEFAULT_LENGTH_MS);
+            definition = definitions.get(name);
+        }
+        long now = TimeUtils.millis();
+
+        // Same sound again within its cooldown: merge into the playing voice
+        if (definition.lastStartMillis >= 0 && now - definition.lastStartMillis < definition.cooldownMs) {
+            int voice = definition.lastVoice;
+            if (voice >= 0 && voiceSounds[voice] == sound && volume > voiceVolumes[voice]) {
+                sound.setVolume(voiceIds[voice], volume);
+                voiceVolumes[voice] = volume;
+            }
+            merged++;
+            return voice >= 0 ? voiceIds[voice] : -1;
+        }
+
+        // Per-frame start limit (stingers always get through)
+        long frame = Gdx.graphics.getFrameId();
+        if (frame != frameId) {
+            frameId = frame;
+            startsThisFrame = 0;
+        }
+        if (startsThisFrame >= MAX_STARTS_PER_FRAME && definition.priority < PRIORITY_CRITICAL) {
+            throttled++;
+            return -1;
+        }
+
+        int voice = findVoice(definition.priority, now);
+        if (voice < 0) {
+            dropped++;
+            return -1;
+        }
+
+        long id = sound.play(volume);
+        if (id == -1) {
+            // The platform refused (e.g. SoundPool out of streams)
+            dropped++;
+            return -1;
+        }
+
+        voiceNames[voice] = name;
+        voiceSounds[voice] = sound;
+        voiceIds[voice] = id;
+        voicePriorities[voice] = definition.priority;
+        voiceStarts[voice] = now;
+        voiceEnds[voice] = now + definition.lengthMs;
+        voiceVolumes[voice] = volume;
+
+        definition.lastStartMillis = now;
+        definition.lastVoice = voice;
+        startsThisFrame++;
+        started++;
+        return id;
+    }
+
+    /**
+     * A free voice, or the oldest one of lower or equal priority (which is stopped)
+     */
+    private int findVoice(int priority, long now) {
+        int victim = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] == null || now >= voiceEnds[i]) {
+                release(i);
+                return i;
+            }
+            if (voicePriorities[i] <= priority
+                    && (victim < 0 || voicePriorities[i] < voicePriorities[victim]
+                    || (voicePriorities[i] == voicePriorities[victim] && voiceStarts[i] < voiceStarts[victim]))) {
+                victim = i;
+            }
+        }
+
+        if (victim >= 0) {
+            voiceSounds[victim].stop(voiceIds[victim]);
+            release(victim);
+            stolen++;
+        }
+        return victim;
+    }
+
+    private void release(int voice) {
+        if (voiceNames[voice] != null) {
+            Definition definition = definitions.get(voiceNames[voice]);
+            if (definition != null && definition.lastVoice == voice) {
+                definition.lastVoice = -1;
+            }
+        }
+        voiceNames[voice] = null;
+        voiceSounds[voice] = null;
+    }
+
+    /**
+     * Voices that are still (probably) audible
+     */
+    public int getActiveVoices() {
+        long now = TimeUtils.millis();
+        int active = 0;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] != null && now < voiceEnds[i]) active++;
+        }
+        return active;
+    }
+
+    /**
+     * Stop every voice (e.g. when sound is switched off)
+     */
+    public void stopAll() {
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] != null) {
+                voiceSounds[i].stop(voiceIds[i]);
+            }
+            release(i);
+        }
+    }
+
+    /**
+     * Get voice statistics
+     */
+    public String getStats() {
+        return String.format("Voices: %d/%d | %d started | %d merged | %d throttled | %d stolen | %d dropped",
+                getActiveVoices(), MAX_VOICES, started, merged, throttled, stolen, dropped);
+    }
+}
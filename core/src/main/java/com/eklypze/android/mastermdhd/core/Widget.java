@@ -0,0 +1,88 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Widget
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Base class for retained-mode UI widgets
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A piece of UI that keeps its geometry between frames. Setters only
+ * mark the widget dirty when a value really changes; layout() then runs
+ * once on the next draw, and render() just queues the cached result.
+ */
+public abstract class Widget {
+
+    protected final Rectangle bounds = new Rectangle();
+    protected boolean dirty = true;
+    protected boolean visible = true;
+
+    WidgetGroup parent;
+    private int layouts = 0;
+
+    /**
+     * Recompute cached geometry (only called when dirty)
+     */
+    protected abstract void layout();
+
+    /**
+     * Queue the widget's draw commands
+     */
+    protected abstract void render(RenderQueue queue);
+
+    public final void draw(RenderQueue queue) {
+        if (!visible) return;
+        if (dirty) {
+            layout();
+            dirty = false;
+            layouts++;
+        }
+        render(queue);
+    }
+
+    public Widget setBounds(float x, float y, float width, float height) {
+        if (bounds.x != x || bounds.y != y || bounds.width != width || bounds.height != height) {
+            bounds.set(x, y, width, height);
+            invalidate();
+            if (parent != null) parent.invalidateHits();
+        }
+        return this;
+    }
+
+    public Widget setBounds(Rectangle rect) {
+        return setBounds(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    public Widget setVisible(boolean visible) {
+        if (this.visible != visible) {
+            this.visible = visible;
+            if (parent != null) parent.invalidateHits();
+        }
+        return this;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public Rectangle getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Force a re-layout on the next draw
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Number of times layout() ran (for profiling)
+     */
+    public int getLayouts() {
+        return layouts;
+    }
+}
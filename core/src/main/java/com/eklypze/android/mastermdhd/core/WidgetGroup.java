@@ -0,0 +1,76 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Widget Group
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: A screen's widget tree, drawing and hit testing
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Holds a screen's widgets in draw order. draw() queues them all into
+ * the shared RenderQueue, so a whole screen of buttons and labels goes
+ * out in a couple of batch flushes. Buttons are indexed in a HitGrid
+ * that is only rebuilt when a button moves or is hidden.
+ */
+public class WidgetGroup {
+
+    private final Array<Widget> widgets = new Array<>();
+    private final HitGrid hits = new HitGrid(0, 0,
+            MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT, 80);
+    private boolean hitsDirty = true;
+
+    public <T extends Widget> T add(T widget) {
+        widget.parent = this;
+        widgets.add(widget);
+        hitsDirty = true;
+        return widget;
+    }
+
+    public void draw(RenderQueue queue) {
+        for (int i = 0; i < widgets.size; i++) {
+            widgets.get(i).draw(queue);
+        }
+    }
+
+    /**
+     * Click the button under a point; returns true if one was hit
+     */
+    public boolean touch(float x, float y) {
+        if (hitsDirty) rebuildHits();
+
+        int index = hits.hit(x, y);
+        if (index < 0) return false;
+
+        ((ButtonWidget) widgets.get(index)).click();
+        return true;
+    }
+
+    void invalidateHits() {
+        hitsDirty = true;
+    }
+
+    private void rebuildHits() {
+        hits.clear();
+        for (int i = 0; i < widgets.size; i++) {
+            Widget widget = widgets.get(i);
+            if (widget.isVisible() && widget instanceof ButtonWidget && ((ButtonWidget) widget).isClickable()) {
+                hits.add(widget.getBounds(), i);
+            }
+        }
+        hitsDirty = false;
+    }
+
+    /**
+     * Total re-layouts across all widgets (for profiling)
+     */
+    public int getLayouts() {
+        int total = 0;
+        for (int i = 0; i < widgets.size; i++) {
+            total += widgets.get(i).getLayouts();
+        }
+        return total;
+    }
+}
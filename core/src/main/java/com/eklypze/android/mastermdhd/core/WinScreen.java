@@ -16,8 +16,6 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.Sprite;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
@@ -26,12 +24,12 @@ import com.badlogic.gdx.math.MathUtils;
 /**
  * Win screen with stars and progression
  */
-public class WinScreen implements Screen {
+public class WinScreen implements Screen, RenderScheduler.Animated, InputQueue.TouchHandler {
 
     private final MastermindHDGame game;
-    private final Level level;
-    private final int stars;
-    private final int movesUsed;
+    private Level level;
+    private int stars;
+    private int movesUsed;
 
     private OrthographicCamera camera;
     private Viewport viewport;
@@ -39,25 +37,32 @@ public class WinScreen implements Screen {
 
     private Texture backgroundTexture;
     private Sprite backgroundSprite;
+    private final FontManager fonts = FontManager.getInstance();
     private BitmapFont font;
     private BitmapFont titleFont;
-    private ShapeRenderer shapeRenderer;
     private GlyphLayout layout;
 
-    private Rectangle nextButton;
-    private Rectangle retryButton;
-    private Rectangle menuButton;
+    // Static parts; the title and stars are tweened and drawn directly
+    private final WidgetGroup ui = new WidgetGroup();
+    private LabelWidget levelNameLabel;
+    private LabelWidget statsLabel;
 
     private float time = 0;
     private SoundManager soundManager;
     private ParticleManager particleManager;
     private boolean celebrationStarted = false;
 
-    public WinScreen(MastermindHDGame game, Level level, int stars, int movesUsed) {
+    // Title and star animation
+    private final TweenManager tweens = new TweenManager();
+    private final TweenManager.Value titleScale = new TweenManager.Value(4f);
+    private final TweenManager.Value starScale = new TweenManager.Value(3f);
+
+    // Sparkles and title animation run this long, then the screen can idle
+    private static final float CELEBRATION_SECONDS = 6f;
+    private static final float TITLE_PULSE_SECONDS = 0.5f;
+
+    public WinScreen(MastermindHDGame game) {
         this.game = game;
-        this.level = level;
-        this.stars = stars;
-        this.movesUsed = movesUsed;
         this.soundManager = SoundManager.getInstance();
         this.particleManager = new ParticleManager();
 
@@ -66,20 +71,17 @@ public class WinScreen implements Screen {
         camera.position.set(MastermindHDGame.GAME_WIDTH / 2f, MastermindHDGame.GAME_HEIGHT / 2f, 0);
         touchPoint = new Vector3();
 
-        backgroundTexture = new Texture(Gdx.files.internal("gfx/wood_bg.jpg"));
+        backgroundTexture = AssetCache.getInstance().getTexture("gfx/wood_bg.jpg");
         backgroundSprite = new Sprite(backgroundTexture);
         backgroundSprite.setPosition(0, 0);
         backgroundSprite.setSize(MastermindHDGame.GAME_WIDTH, MastermindHDGame.GAME_HEIGHT);
 
-        font = new BitmapFont();
-        font.setColor(Color.WHITE);
-        font.getData().setScale(2.0f);
+        font = fonts.newFont(Color.WHITE);
+        fonts.setScale(font, 2.0f);
 
-        titleFont = new BitmapFont();
-        titleFont.setColor(Color.GOLD);
-        titleFont.getData().setScale(4.0f);
+        titleFont = fonts.newFont(Color.GOLD);
+        fonts.setScale(titleFont, 4.0f);
 
-        shapeRenderer = new ShapeRenderer();
         layout = new GlyphLayout();
 
         // Buttons
@@ -87,9 +89,72 @@ public class WinScreen implements Screen {
         float buttonHeight = 70;
         float centerX = MastermindHDGame.GAME_WIDTH / 2f - buttonWidth / 2;
 
-        nextButton = new Rectangle(centerX, 250, buttonWidth, buttonHeight);
-        retryButton = new Rectangle(centerX, 160, buttonWidth, buttonHeight);
-        menuButton = new Rectangle(centerX, 70, buttonWidth, buttonHeight);
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Next Level").setColor(0.2f, 0.7f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    soundManager.playUnlock();
+                    // Go to next level, or on into endless mode after the last one
+                    if (level.getLevelNumber() < LevelManager.getInstance().getTotalLevels()) {
+                        Level nextLevel = LevelManager.getInstance().getLevel(level.getLevelNumber() + 1);
+                        game.screens.showGame(nextLevel);
+                    } else {
+                        game.screens.showGame(EndlessMode.getInstance().next());
+                    }
+                })
+                .setBounds(centerX, 250, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Retry").setColor(0.7f, 0.5f, 0.2f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showGame(level);
+                })
+                .setBounds(centerX, 160, buttonWidth, buttonHeight);
+
+        ui.add(new ButtonWidget(font, 2.0f, Color.WHITE)).setText("Menu").setColor(0.2f, 0.2f, 0.7f, 1f)
+                .onClick(() -> {
+                    soundManager.playButton();
+                    game.screens.showLevelSelect();
+                })
+                .setBounds(centerX, 70, buttonWidth, buttonHeight);
+
+        levelNameLabel = ui.add(new LabelWidget(font, 1.8f, Color.WHITE));
+        levelNameLabel.setLine(0, 580, MastermindHDGame.GAME_WIDTH);
+        statsLabel = ui.add(new LabelWidget(font, 1.5f, Color.WHITE));
+        statsLabel.setLine(0, 400, MastermindHDGame.GAME_WIDTH);
+    }
+
+    /**
+     * Set the result to celebrate and restart the animation (the screen is reused)
+     */
+    public void configure(Level level, int stars, int movesUsed) {
+        this.level = level;
+        this.stars = stars;
+        this.movesUsed = movesUsed;
+
+        levelNameLabel.setText(level.getName());
+        statsLabel.begin().append("Solved in ").append(movesUsed).append(" moves!");
+        statsLabel.end();
+
+        time = 0;
+        celebrationStarted = false;
+        particleManager.clear();
+
+        tweens.clear();
+        titleScale.value = 4f;
+        starScale.value = 3f;
+        if (QualityController.getInstance().areAnimatedEffectsEnabled()) {
+            // Pulse back and forth for the whole celebration, ending at rest
+            int legs = (int) (CELEBRATION_SECONDS / TITLE_PULSE_SECONDS);
+            tweens.to(titleScale, 4.4f, TITLE_PULSE_SECONDS, Easing.SINE_IN_OUT).repeatYoyo(legs - 1);
+            tweens.fromTo(starScale, 0.1f, 3f, 0.6f, Easing.BACK_OUT).delay(0.5f);
+        }
+    }
+
+    /**
+     * Prepare celebration effects ahead of time
+     */
+    public void warmUp() {
+        particleManager.warmUp(200);
     }
 
     @Override
@@ -111,8 +176,9 @@ public class WinScreen implements Screen {
             particleManager.createFireworks(MastermindHDGame.GAME_WIDTH / 2f, 500);
         }
 
-        // Continue adding sparkles periodically
-        if (time % 0.3f < delta) {
+        // Continue adding sparkles periodically (rarer when quality drops)
+        float sparkleInterval = 0.3f * QualityController.getInstance().getEffectIntervalScale();
+        if (time < CELEBRATION_SECONDS && time % sparkleInterval < delta) {
             particleManager.createSparkle(
                 MathUtils.random(100, MastermindHDGame.GAME_WIDTH - 100),
                 MathUtils.random(200, MastermindHDGame.GAME_HEIGHT - 200)
@@ -120,6 +186,7 @@ public class WinScreen implements Screen {
         }
 
         particleManager.update(delta);
+        tweens.update(delta);
 
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.15f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -130,102 +197,46 @@ public class WinScreen implements Screen {
         handleInput();
 
         // Draw background (dimmed)
-        game.batch.begin();
         backgroundSprite.setColor(0.5f, 0.5f, 0.5f, 1f);
-        backgroundSprite.draw(game.batch);
+        game.renderQueue.sprite(RenderQueue.LAYER_BACKGROUND, backgroundSprite);
         backgroundSprite.setColor(1, 1, 1, 1);
-        game.batch.end();
 
-        // Draw buttons
-        shapeRenderer.setProjectionMatrix(camera.combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-
-        shapeRenderer.setColor(0.2f, 0.7f, 0.2f, 1f);
-        shapeRenderer.rect(nextButton.x, nextButton.y, nextButton.width, nextButton.height);
-
-        shapeRenderer.setColor(0.7f, 0.5f, 0.2f, 1f);
-        shapeRenderer.rect(retryButton.x, retryButton.y, retryButton.width, retryButton.height);
-
-        shapeRenderer.setColor(0.2f, 0.2f, 0.7f, 1f);
-        shapeRenderer.rect(menuButton.x, menuButton.y, menuButton.width, menuButton.height);
-
-        shapeRenderer.end();
-
-        // Draw text
-        game.batch.begin();
+        // Buttons, level name and stats
+        ui.draw(game.renderQueue);
 
         // Title with animation
-        float titleScale = 4.0f + (float)Math.sin(time * 3) * 0.4f;
-        titleFont.getData().setScale(titleScale);
+        fonts.setScale(titleFont, titleScale.value);
         layout.setText(titleFont, "VICTORY!");
         float titleX = (MastermindHDGame.GAME_WIDTH - layout.width) / 2;
-        titleFont.draw(game.batch, "VICTORY!", titleX, 650);
-
-        // Level name
-        font.getData().setScale(1.8f);
-        layout.setText(font, level.getName());
-        font.draw(game.batch, level.getName(), (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 580);
+        game.renderQueue.text(RenderQueue.LAYER_TEXT, titleFont, "VICTORY!", titleX, 650);
 
         // Stars with animation
-        font.getData().setScale(3.0f + (float)Math.sin(time * 4) * 0.3f);
+        fonts.setScale(font, Math.max(0.1f, starScale.value));
         font.setColor(Color.GOLD);
-        String starText = "";
-        for (int i = 0; i < stars; i++) {
-            starText += "⭐";
-        }
+        String starText = HudText.stars(stars);
         layout.setText(font, starText);
-        font.draw(game.batch, starText, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 500);
+        game.renderQueue.text(RenderQueue.LAYER_TEXT, font, starText, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 500);
 
-        // Stats
-        font.setColor(Color.WHITE);
-        font.getData().setScale(1.5f);
-        String stats = "Solved in " + movesUsed + " moves!";
-        layout.setText(font, stats);
-        font.draw(game.batch, stats, (MastermindHDGame.GAME_WIDTH - layout.width) / 2, 400);
+        // Particles share the same batch pass
+        game.renderQueue.custom(RenderQueue.LAYER_EFFECTS, particleManager);
 
-        // Button text
-        font.getData().setScale(2.0f);
-        drawCenteredText("Next Level", nextButton);
-        drawCenteredText("Retry", retryButton);
-        drawCenteredText("Menu", menuButton);
-
-        game.batch.end();
-
-        // Draw particles using ShapeRenderer (no texture needed)
-        particleManager.render(game.batch, shapeRenderer);
+        game.renderQueue.flush(game.batch);
     }
 
-    private void drawCenteredText(String text, Rectangle button) {
-        layout.setText(font, text);
-        float x = button.x + (button.width - layout.width) / 2;
-        float y = button.y + (button.height + layout.height) / 2;
-        font.draw(game.batch, text, x, y);
+    @Override
+    public boolean isAnimating() {
+        return time < CELEBRATION_SECONDS || tweens.hasActiveTweens() || particleManager.getParticleCount() > 0;
     }
 
     private void handleInput() {
-        if (Gdx.input.justTouched()) {
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
-
-            if (nextButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                soundManager.playUnlock();
-                // Go to next level (if available)
-                if (level.getLevelNumber() < 100) {
-                    Level nextLevel = LevelManager.getInstance().getLevel(level.getLevelNumber() + 1);
-                    game.setScreen(new EnhancedGameScreen(game, nextLevel));
-                } else {
-                    // All levels complete!
-                    game.setScreen(new LevelSelectScreen(game));
-                }
-            } else if (retryButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new EnhancedGameScreen(game, level));
-            } else if (menuButton.contains(touchPoint.x, touchPoint.y)) {
-                soundManager.playButton();
-                game.setScreen(new LevelSelectScreen(game));
-            }
-        }
+        game.input.process(this);
+    }
+
+    @Override
+    public void touch(InputQueue.TouchEvent event) {
+        if (event.type != InputQueue.TOUCH_DOWN) return;
+        event.unproject(viewport, touchPoint);
+        ui.touch(touchPoint.x, touchPoint.y);
     }
 
     @Override
@@ -245,10 +256,6 @@ public class WinScreen implements Screen {
 
     @Override
     public void dispose() {
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (font != null) font.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (shapeRenderer != null) shapeRenderer.dispose();
         if (particleManager != null) particleManager.dispose();
     }
 }
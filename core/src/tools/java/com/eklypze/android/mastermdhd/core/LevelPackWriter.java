@@ -0,0 +1,121 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - Level Pack Writer
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Builds levels.bin from the level table
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build tool (core's tools source set, not shipped with the game) that
+ * turns the designer-edited level table (levels/levels.csv, one level
+ * per line) into the binary pack the game loads
+ * (android/assets/levels/levels.bin). Run it from the project root with:
+ *
+ *   gradle core:packLevels
+ *
+ * Columns: number, name, difficulty, colors, code length, max turns,
+ * duplicates (yes/no), hints, time limit (seconds, 0 = untimed),
+ * three-star moves, two-star moves. Lines starting with # are comments.
+ */
+public class LevelPackWriter {
+
+    private static final int COLUMNS = 11;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: LevelPackWriter <levels.csv> <levels.bin>");
+            System.exit(1);
+        }
+
+        List<Level> levels;
+        try (Reader reader = new InputStreamReader(Files.newInputStream(Paths.get(args[0])), StandardCharsets.UTF_8)) {
+            levels = read(reader);
+        }
+        try (OutputStream out = new FileOutputStream(args[1])) {
+            write(levels, out);
+        }
+        System.out.println("Wrote " + levels.size() + " levels to " + args[1]);
+    }
+
+    /**
+     * Parse the level table; levels must be numbered 1, 2, 3...
+     */
+    public static List<Level> read(Reader source) throws IOException {
+        List<Level> levels = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] fields = line.split(",");
+            if (fields.length != COLUMNS) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + COLUMNS
+                        + " columns, found " + fields.length);
+            }
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+
+            try {
+                int number = Integer.parseInt(fields[0]);
+                if (number != levels.size() + 1) {
+                    throw new IllegalArgumentException("expected level " + (levels.size() + 1) + ", found " + number);
+                }
+
+                int timeLimit = Integer.parseInt(fields[8]);
+                levels.add(new Level.Builder(number)
+                        .name(fields[1])
+                        .difficulty(Level.Difficulty.valueOf(fields[2]))
+                        .numColors(Integer.parseInt(fields[3]))
+                        .codeLength(Integer.parseInt(fields[4]))
+                        .maxTurns(Integer.parseInt(fields[5]))
+                        .allowDuplicates(parseYesNo(fields[6]))
+                        .hints(Integer.parseInt(fields[7]))
+                        .timed(timeLimit > 0)
+                        .timeLimit(timeLimit)
+                        .threeStars(Integer.parseInt(fields[9]))
+                        .twoStars(Integer.parseInt(fields[10]))
+                        .build());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Write levels as a pack
+     */
+    public static void write(List<Level> levels, OutputStream out) throws IOException {
+        byte[] pack = new byte[LevelPack.HEADER_SIZE + levels.size() * LevelPack.RECORD_SIZE];
+        LevelPack.encodeHeader(levels.size(), pack);
+        for (int i = 0; i < levels.size(); i++) {
+            LevelPack.encode(levels.get(i), pack, LevelPack.HEADER_SIZE + i * LevelPack.RECORD_SIZE);
+        }
+        out.write(pack);
+    }
+
+    private static boolean parseYesNo(String value) {
+        if (value.equalsIgnoreCase("yes")) return true;
+        if (value.equalsIgnoreCase("no")) return false;
+        throw new IllegalArgumentException("expected yes or no, found " + value);
+    }
+}
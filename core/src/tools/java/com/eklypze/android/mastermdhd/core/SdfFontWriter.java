@@ -0,0 +1,297 @@
+/*********************************************************
+ * GAME TITLE: Mastermind HD - SDF Font Writer
+ * AUTHOR: Dara Ouk
+ * VERSION: 2.0
+ * DESCRIPTION: Builds the distance-field font atlas from a TTF
+ *********************************************************/
+
+package com.eklypze.android.mastermdhd.core;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.font.TextAttribute;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.imageio.ImageIO;
+
+/**
+ * Build tool (core's tools source set, not shipped with the game) that
+ * renders printable ASCII from a TrueType font into a signed-distance-field
+ * atlas (android/assets/fonts/hud-sdf.fnt and hud-sdf.png) in the BMFont
+ * text format libGDX reads. Run it from the project root with:
+ *
+ *   gradle core:packFont [-PsdfFont=path/to/font.ttf]
+ *
+ * Each glyph outline is rasterised at OVERSAMPLE times the atlas size
+ * and the distance to its edge is measured at every atlas texel, so
+ * edges stay accurate to a fraction of a texel. Alpha 0.5 is the glyph
+ * edge and falls off linearly over SPREAD texels on either side; the
+ * colour channels are white so text is tinted by the vertex colour.
+ * The .fnt layout follows Hiero's (padding in the info line, spacing
+ * cancelling it), so BitmapFontData reads the metrics the usual way.
+ */
+public class SdfFontWriter {
+
+    // Atlas glyph size in pixels
+    private static final int FONT_SIZE = 32;
+    // Distance range on each side of the edge, in atlas pixels (also the glyph padding)
+    private static final int SPREAD = 4;
+    private static final int OVERSAMPLE = 16;
+    private static final int PAGE_WIDTH = 512;
+    private static final int GAP = 1;
+
+    private static final char FIRST_CHAR = 32;
+    private static final char LAST_CHAR = 126;
+
+    private static final float INFINITY = 1e20f;
+
+    /**
+     * One glyph's distance field and metrics, in atlas pixels
+     */
+    static class Glyph {
+        char id;
+        int width, height;
+        int xoffset, yoffset;
+        int xadvance;
+        int x, y;
+        int[] alpha;
+    }
+
+    public static void main(String[] args) throws IOException, FontFormatException {
+        if (args.length != 2) {
+            System.err.println("Usage: SdfFontWriter <font.ttf> <output.fnt>");
+            System.exit(1);
+        }
+
+        Font font = Font.createFont(Font.TRUETYPE_FONT, new File(args[0])).deriveFont((float) FONT_SIZE);
+        File fntFile = new File(args[1]);
+        String pageName = fntFile.getName().replaceFirst("\\.fnt$", "") + ".png";
+
+        FontRenderContext context = new FontRenderContext(null, true, true);
+        List<Glyph> glyphs = new ArrayList<>();
+        for (char c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+            if (font.canDisplay(c)) {
+                glyphs.add(renderGlyph(font, context, c));
+            }
+        }
+
+        int pageHeight = pack(glyphs);
+        BufferedImage page = new BufferedImage(PAGE_WIDTH, pageHeight, BufferedImage.TYPE_INT_ARGB);
+        for (Glyph glyph : glyphs) {
+            for (int gy = 0; gy < glyph.height; gy++) {
+                for (int gx = 0; gx < glyph.width; gx++) {
+                    page.setRGB(glyph.x + gx, glyph.y + gy, (glyph.alpha[gy * glyph.width + gx] << 24) | 0xffffff);
+                }
+            }
+        }
+        ImageIO.write(page, "png", new File(fntFile.getParentFile(), pageName));
+
+        LineMetrics line = font.getLineMetrics("Hg", context);
+        int ascent = Math.round(line.getAscent());
+        int lineHeight = Math.round(line.getAscent() + line.getDescent() + line.getLeading());
+        Map<Long, Integer> kernings = kernings(font, context, glyphs);
+
+        try (PrintWriter out = new PrintWriter(fntFile, StandardCharsets.UTF_8.name())) {
+            out.printf(Locale.ROOT, "info face=\"%s\" size=%d bold=0 italic=0 charset=\"\" unicode=0 stretchH=100"
+                    + " smooth=1 aa=1 padding=%d,%d,%d,%d spacing=%d,%d%n",
+                    font.getFontName(Locale.ROOT), FONT_SIZE, SPREAD, SPREAD, SPREAD, SPREAD, -2 * SPREAD, -2 * SPREAD);
+            out.printf(Locale.ROOT, "common lineHeight=%d base=%d scaleW=%d scaleH=%d pages=1 packed=0%n",
+                    lineHeight, ascent + SPREAD, PAGE_WIDTH, pageHeight);
+            out.printf(Locale.ROOT, "page id=0 file=\"%s\"%n", pageName);
+            out.printf(Locale.ROOT, "chars count=%d%n", glyphs.size());
+            for (Glyph glyph : glyphs) {
+                out.printf(Locale.ROOT, "char id=%d x=%d y=%d width=%d height=%d xoffset=%d yoffset=%d"
+                        + " xadvance=%d page=0 chnl=0%n",
+                        (int) glyph.id, glyph.x, glyph.y, glyph.width, glyph.height,
+                        glyph.xoffset, glyph.yoffset + SPREAD + ascent, glyph.xadvance);
+            }
+            out.printf(Locale.ROOT, "kernings count=%d%n", kernings.size());
+            for (Map.Entry<Long, Integer> kerning : kernings.entrySet()) {
+                out.printf(Locale.ROOT, "kerning first=%d second=%d amount=%d%n",
+                        kerning.getKey() >> 16, kerning.getKey() & 0xffff, kerning.getValue());
+            }
+        }
+        System.out.println("Wrote " + glyphs.size() + " glyphs (" + PAGE_WIDTH + "x" + pageHeight + ") to " + args[1]);
+    }
+
+    /**
+     * Rasterise one glyph and measure its distance field.
+     * yoffset is left relative to the baseline; main() moves it to the line top.
+     */
+    static Glyph renderGlyph(Font font, FontRenderContext context, char c) {
+        GlyphVector vector = font.createGlyphVector(context, String.valueOf(c));
+        Shape outline = vector.getGlyphOutline(0);
+        Rectangle2D bounds = outline.getBounds2D();
+
+        Glyph glyph = new Glyph();
+        glyph.id = c;
+        glyph.xadvance = Math.round(vector.getGlyphMetrics(0).getAdvance());
+        if (bounds.isEmpty()) {
+            glyph.alpha = new int[0];
+            glyph.xoffset = -SPREAD;
+            return glyph;
+        }
+
+        // Whole atlas pixels around the ink, plus the spread on every side
+        int left = (int) Math.floor(bounds.getMinX()) - SPREAD;
+        int top = (int) Math.floor(bounds.getMinY()) - SPREAD;
+        glyph.width = (int) Math.ceil(bounds.getMaxX()) + SPREAD - left;
+        glyph.height = (int) Math.ceil(bounds.getMaxY()) + SPREAD - top;
+        glyph.xoffset = left;
+        glyph.yoffset = top;
+
+        int hiWidth = glyph.width * OVERSAMPLE;
+        int hiHeight = glyph.height * OVERSAMPLE;
+        BufferedImage mask = new BufferedImage(hiWidth, hiHeight, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D g = mask.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        AffineTransform transform = AffineTransform.getScaleInstance(OVERSAMPLE, OVERSAMPLE);
+        transform.translate(-left, -top);
+        g.fill(transform.createTransformedShape(outline));
+        g.dispose();
+
+        float[] inside = new float[hiWidth * hiHeight];
+        float[] outside = new float[hiWidth * hiHeight];
+        for (int y = 0; y < hiHeight; y++) {
+            for (int x = 0; x < hiWidth; x++) {
+                boolean ink = (mask.getRGB(x, y) & 0xffffff) != 0;
+                inside[y * hiWidth + x] = ink ? INFINITY : 0;
+                outside[y * hiWidth + x] = ink ? 0 : INFINITY;
+            }
+        }
+        // Squared distance to the nearest texel of the other kind
+        distanceTransform(inside, hiWidth, hiHeight);
+        distanceTransform(outside, hiWidth, hiHeight);
+
+        glyph.alpha = new int[glyph.width * glyph.height];
+        float range = 2f * SPREAD * OVERSAMPLE;
+        for (int y = 0; y < glyph.height; y++) {
+            for (int x = 0; x < glyph.width; x++) {
+                int sample = (y * OVERSAMPLE + OVERSAMPLE / 2) * hiWidth + x * OVERSAMPLE + OVERSAMPLE / 2;
+                // The edge lies half a texel beyond the last texel of either kind
+                float distance = inside[sample] > 0
+                        ? (float) Math.sqrt(inside[sample]) - 0.5f
+                        : 0.5f - (float) Math.sqrt(outside[sample]);
+                float value = 0.5f + distance / range;
+                glyph.alpha[y * glyph.width + x] = Math.round(Math.max(0f, Math.min(1f, value)) * 255f);
+            }
+        }
+        return glyph;
+    }
+
+    /**
+     * Exact squared Euclidean distance transform (Felzenszwalb and
+     * Huttenlocher): columns, then rows, of 1D lower envelopes of parabolas.
+     */
+    static void distanceTransform(float[] grid, int width, int height) {
+        int size = Math.max(width, height);
+        float[] f = new float[size];
+        float[] d = new float[size];
+        int[] v = new int[size];
+        float[] z = new float[size + 1];
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) f[y] = grid[y * width + x];
+            transform1d(f, height, d, v, z);
+            for (int y = 0; y < height; y++) grid[y * width + x] = d[y];
+        }
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(grid, y * width, f, 0, width);
+            transform1d(f, width, d, v, z);
+            System.arraycopy(d, 0, grid, y * width, width);
+        }
+    }
+
+    private static void transform1d(float[] f, int n, float[] d, int[] v, float[] z) {
+        int k = 0;
+        v[0] = 0;
+        z[0] = -INFINITY;
+        z[1] = INFINITY;
+        for (int q = 1; q < n; q++) {
+            float s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2f * q - 2f * v[k]);
+            while (s <= z[k]) {
+                k--;
+                s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2f * q - 2f * v[k]);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = INFINITY;
+        }
+        k = 0;
+        for (int q = 0; q < n; q++) {
+            while (z[k + 1] < q) k++;
+            float delta = q - v[k];
+            d[q] = delta * delta + f[v[k]];
+        }
+    }
+
+    /**
+     * Shelf-pack the glyphs, tallest first; returns the page height (a power of two)
+     */
+    static int pack(List<Glyph> glyphs) {
+        List<Glyph> order = new ArrayList<>(glyphs);
+        Collections.sort(order, (a, b) -> b.height != a.height ? b.height - a.height : a.id - b.id);
+
+        int x = GAP;
+        int y = GAP;
+        int shelfHeight = 0;
+        for (Glyph glyph : order) {
+            if (x + glyph.width + GAP > PAGE_WIDTH) {
+                x = GAP;
+                y += shelfHeight + GAP;
+                shelfHeight = 0;
+            }
+            glyph.x = x;
+            glyph.y = y;
+            x += glyph.width + GAP;
+            shelfHeight = Math.max(shelfHeight, glyph.height);
+        }
+
+        int used = y + shelfHeight + GAP;
+        int height = 1;
+        while (height < used) height <<= 1;
+        return height;
+    }
+
+    /**
+     * Pair adjustments the font's kerning table makes, rounded to whole pixels
+     */
+    static Map<Long, Integer> kernings(Font font, FontRenderContext context, List<Glyph> glyphs) {
+        Map<TextAttribute, Object> attributes = new HashMap<>();
+        attributes.put(TextAttribute.KERNING, TextAttribute.KERNING_ON);
+        Font kerned = font.deriveFont(attributes);
+
+        Map<Long, Integer> kernings = new TreeMap<>();
+        for (Glyph first : glyphs) {
+            for (Glyph second : glyphs) {
+                char[] pair = {first.id, second.id};
+                GlyphVector vector = kerned.layoutGlyphVector(context, pair, 0, 2, Font.LAYOUT_LEFT_TO_RIGHT);
+                float unkerned = font.createGlyphVector(context, new char[] {first.id}).getGlyphMetrics(0).getAdvance();
+                int amount = Math.round((float) vector.getGlyphPosition(1).getX() - unkerned);
+                if (amount != 0) {
+                    kernings.put(((long) first.id << 16) | second.id, amount);
+                }
+            }
+        }
+        return kernings;
+    }
+}